@@ -2,6 +2,7 @@ plugins {
 	java
 	id("org.springframework.boot") version "3.3.4"
 	id("io.spring.dependency-management") version "1.1.6"
+	id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "com.example"
@@ -22,6 +23,11 @@ dependencies {
 	implementation("org.springframework.boot:spring-boot-starter-web")
 	implementation("org.springframework.boot:spring-boot-starter-data-jpa")
 	implementation("org.springframework.boot:spring-boot-starter-security")
+	implementation("org.springframework.boot:spring-boot-starter-actuator")
+	implementation("com.github.ben-manes.caffeine:caffeine")
+	implementation("com.github.ben-manes.caffeine:jcache")
+	implementation("org.hibernate.orm:hibernate-jcache")
+	implementation("org.hibernate.orm:hibernate-micrometer")
 	implementation("io.github.cdimascio:dotenv-java:3.0.0")
 	compileOnly ("io.jsonwebtoken:jjwt-api:0.11.5")
 	runtimeOnly ("io.jsonwebtoken:jjwt-impl:0.11.5")
@@ -38,12 +44,23 @@ dependencies {
 	testImplementation("org.springframework.boot:spring-boot-starter-test")
 	testRuntimeOnly("org.junit.platform:junit-platform-launcher")
 	testImplementation ("org.springframework.security:spring-security-test")
+	testCompileOnly ("io.jsonwebtoken:jjwt-api:0.11.5")
 	testImplementation ("org.skyscreamer:jsonassert:1.5.0")
 	testImplementation ("com.h2database:h2")
 	runtimeOnly("com.h2database:h2")
 
+	jmh("io.jsonwebtoken:jjwt-api:0.11.5")
+	jmh("io.jsonwebtoken:jjwt-impl:0.11.5")
+	jmh("io.jsonwebtoken:jjwt-jackson:0.11.5")
+
 }
 
 tasks.withType<Test> {
 	useJUnitPlatform()
 }
+
+jmh {
+	fork = 1
+	warmupIterations = 3
+	iterations = 5
+}
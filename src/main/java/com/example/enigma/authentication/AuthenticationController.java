@@ -1,10 +1,13 @@
 package com.example.enigma.authentication;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -20,7 +23,12 @@ public class AuthenticationController {
     }
 
     @PostMapping("/authenticate")
-    public ResponseEntity<Object> authenticate(@RequestBody AuthenticateRequest request) {
-        return ResponseEntity.ok(authenticationService.authenticate(request));
+    public ResponseEntity<Object> authenticate(@RequestBody AuthenticateRequest request, HttpServletRequest httpRequest) {
+        return ResponseEntity.ok(authenticationService.authenticate(request, httpRequest.getRemoteAddr()));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Object> logout(@RequestHeader(name = HttpHeaders.AUTHORIZATION, required = false) String authHeader) {
+        return authenticationService.logout(authHeader);
     }
 }
@@ -1,36 +1,46 @@
 package com.example.enigma.authentication;
 
 import com.example.enigma.configuration.JwtService;
+import com.example.enigma.configuration.VerifiedTokenCache;
+import com.example.enigma.event.EntityChangedEvent;
 import com.example.enigma.exception.ErrorMessage;
+import com.example.enigma.exception.authentication.TooManyLoginAttemptsException;
 import com.example.enigma.model.Role;
 import com.example.enigma.model.entity.User;
 import com.example.enigma.repository.UserRepository;
-import jakarta.transaction.Transactional;
+import com.example.enigma.service.TokenRevocationService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
-import java.util.Optional;
+import java.util.Locale;
 
 @Service
 @RequiredArgsConstructor
 public class AuthenticationService {
+    // the users.email unique constraint is unnamed: MySQL reports it as users.email, H2 as an index on USERS(EMAIL)
+    private static final String EMAIL_CONSTRAINT = "email";
     private final UserRepository userRepository;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
     private final PasswordEncoder passwordEncoder;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenRevocationService tokenRevocationService;
+    private final LoginThrottle loginThrottle;
+    private final ApplicationEventPublisher eventPublisher;
 
-    @Transactional
     public ResponseEntity<Object> register(RegisterRequest request) {
-        if (userRepository.findByEmail(request.email()).isPresent()) {
-            return ResponseEntity.status(HttpStatus.CONFLICT)
-                    .body(ErrorMessage.LOGIN_EXIST);
-        }
-
         User user = User.builder()
                 .firstName(request.firstName())
                 .lastName(request.lastName())
@@ -38,8 +48,18 @@ public class AuthenticationService {
                 .password(passwordEncoder.encode(request.password()))
                 .role(Role.ROLE_USER)
                 .build();
-        userRepository.save(user);
+        try {
+            userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException ex) {
+            if (isEmailConstraintViolation(ex)) {
+                return ResponseEntity.status(HttpStatus.CONFLICT)
+                        .body(ErrorMessage.LOGIN_EXIST);
+            }
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ErrorMessage.REGISTRATION_INVALID);
+        }
 
+        eventPublisher.publishEvent(new EntityChangedEvent(User.class));
         String jwtToken = jwtService.generateToken(user);
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(AuthenticateResponse.builder()
@@ -47,22 +67,48 @@ public class AuthenticationService {
                         .build());
     }
 
-    public ResponseEntity<Object> authenticate(AuthenticateRequest request) {
-        authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(
+    public ResponseEntity<Object> authenticate(AuthenticateRequest request, String clientIp) {
+        if (!loginThrottle.tryAcquire(request.email(), clientIp)) {
+            throw new TooManyLoginAttemptsException(ErrorMessage.TOO_MANY_LOGIN_ATTEMPTS);
+        }
+        Authentication authentication = authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(
                 request.email(),
                 request.password()
         ));
+        loginThrottle.recordSuccess(request.email(), clientIp);
 
-        Optional<User> userOptional = userRepository.findByEmail(request.email());
-        if (userOptional.isEmpty()) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(String.format(ErrorMessage.USER_NOT_FOUND_BY_EMAIL, request.email()));
-        }
-
-        User user = userOptional.get();
+        UserDetails user = (UserDetails) authentication.getPrincipal();
         String jwtToken = jwtService.generateToken(user);
         return ResponseEntity.ok(AuthenticateResponse.builder()
                 .token(jwtToken)
                 .build());
     }
+
+    public ResponseEntity<Object> logout(String authHeader) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ErrorMessage.BEARER_TOKEN_MISSING);
+        }
+
+        Claims claims;
+        try {
+            claims = verifiedTokenCache.getClaims(authHeader.substring(7));
+        } catch (JwtException ex) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(ErrorMessage.TOKEN_INVALID);
+        }
+        if (claims.getId() == null) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ErrorMessage.TOKEN_NOT_REVOCABLE);
+        }
+
+        tokenRevocationService.revoke(claims.getId(), claims.getExpiration().toInstant());
+        return ResponseEntity.ok("Logged out successfully");
+    }
+
+    private static boolean isEmailConstraintViolation(DataIntegrityViolationException ex) {
+        return ex.getCause() instanceof ConstraintViolationException violation
+                && violation.getConstraintName() != null
+                && violation.getConstraintName().toLowerCase(Locale.ROOT).contains(EMAIL_CONSTRAINT);
+    }
 }
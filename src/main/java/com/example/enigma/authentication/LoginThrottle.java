@@ -0,0 +1,96 @@
+package com.example.enigma.authentication;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+public class LoginThrottle {
+    private final int maxAttemptsPerEmail;
+    private final int maxAttemptsPerIp;
+    private final long windowMillis;
+    private final long maximumKeys;
+    private volatile Window previous;
+    private volatile Window current;
+
+    public LoginThrottle(@Value("${login-throttle.max-attempts-per-email:5}") int maxAttemptsPerEmail,
+                         @Value("${login-throttle.max-attempts-per-ip:50}") int maxAttemptsPerIp,
+                         @Value("${login-throttle.window:PT1M}") Duration window,
+                         @Value("${login-throttle.maximum-keys:100000}") long maximumKeys) {
+        this.maxAttemptsPerEmail = maxAttemptsPerEmail;
+        this.maxAttemptsPerIp = maxAttemptsPerIp;
+        this.windowMillis = window.toMillis();
+        this.maximumKeys = maximumKeys;
+        this.previous = new Window(maximumKeys, window, System.currentTimeMillis() - windowMillis);
+        this.current = new Window(maximumKeys, window, System.currentTimeMillis());
+    }
+
+    public boolean tryAcquire(String email, String clientIp) {
+        String normalizedEmail = normalize(email);
+        String ip = clientIp == null ? "" : clientIp;
+        Window currentWindow = current;
+        Window previousWindow = previous;
+        double previousWeight = 1.0 - Math.min(1.0,
+                (double) (System.currentTimeMillis() - currentWindow.startedAt) / windowMillis);
+        AtomicInteger emailAttempts = currentWindow.emailCounters.get(normalizedEmail, key -> new AtomicInteger());
+        AtomicInteger ipAttempts = currentWindow.ipCounters.get(ip, key -> new AtomicInteger());
+        int emailEstimate = emailAttempts.incrementAndGet() + weighted(previousWindow.emailCounters, normalizedEmail, previousWeight);
+        int ipEstimate = ipAttempts.incrementAndGet() + weighted(previousWindow.ipCounters, ip, previousWeight);
+        if (emailEstimate > maxAttemptsPerEmail || ipEstimate > maxAttemptsPerIp) {
+            emailAttempts.decrementAndGet();
+            ipAttempts.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    public void recordSuccess(String email, String clientIp) {
+        String normalizedEmail = normalize(email);
+        current.emailCounters.invalidate(normalizedEmail);
+        previous.emailCounters.invalidate(normalizedEmail);
+        AtomicInteger ipAttempts = current.ipCounters.getIfPresent(clientIp == null ? "" : clientIp);
+        if (ipAttempts != null) {
+            ipAttempts.getAndUpdate(attempts -> Math.max(attempts - 1, 0));
+        }
+    }
+
+    @Scheduled(fixedRateString = "${login-throttle.window:PT1M}")
+    public void sweep() {
+        previous = current;
+        current = new Window(maximumKeys, Duration.ofMillis(windowMillis), System.currentTimeMillis());
+    }
+
+    private static int weighted(Cache<String, AtomicInteger> counters, String key, double weight) {
+        AtomicInteger attempts = counters.getIfPresent(key);
+        return attempts == null ? 0 : (int) Math.ceil(attempts.get() * weight);
+    }
+
+    private static String normalize(String email) {
+        return email == null ? "" : email.toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Window {
+        private final Cache<String, AtomicInteger> emailCounters;
+        private final Cache<String, AtomicInteger> ipCounters;
+        private final long startedAt;
+
+        private Window(long maximumKeys, Duration window, long startedAt) {
+            this.emailCounters = counters(maximumKeys, window);
+            this.ipCounters = counters(maximumKeys, window);
+            this.startedAt = startedAt;
+        }
+
+        private static Cache<String, AtomicInteger> counters(long maximumKeys, Duration window) {
+            return Caffeine.newBuilder()
+                    .maximumSize(maximumKeys)
+                    .expireAfterWrite(window.multipliedBy(2))
+                    .build();
+        }
+    }
+}
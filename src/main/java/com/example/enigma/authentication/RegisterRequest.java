@@ -7,6 +7,7 @@ public record RegisterRequest(
         String firstName,
         @NotBlank(message = "last name cannot be blank")
         String lastName,
+        @NotBlank(message = "email cannot be blank")
         @Email(regexp = "^[\\w.%+-]+@[\\w.-]+\\.[a-zA-Z]{2,6}$", message = "Invalid email format")
         String email,
 
@@ -0,0 +1,53 @@
+package com.example.enigma.configuration;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class AdaptiveBCryptPasswordEncoder extends BCryptPasswordEncoder {
+    private static final Pattern BCRYPT_PREFIX = Pattern.compile("^\\$2[aby]?\\$(\\d\\d)\\$");
+    private static final int MAX_STRENGTH = 31;
+    private static final int CALIBRATION_ROUNDS = 3;
+    private final int strength;
+
+    public AdaptiveBCryptPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+
+    public static AdaptiveBCryptPasswordEncoder calibrated(Duration targetLatency, int minStrength) {
+        return new AdaptiveBCryptPasswordEncoder(calibrateStrength(targetLatency, minStrength));
+    }
+
+    static int calibrateStrength(Duration targetLatency, int minStrength) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(minStrength);
+        long fastest = Long.MAX_VALUE;
+        for (int i = 0; i < CALIBRATION_ROUNDS; i++) {
+            long start = System.nanoTime();
+            probe.encode("calibration");
+            fastest = Math.min(fastest, System.nanoTime() - start);
+        }
+        int strength = minStrength;
+        long estimated = fastest;
+        while (strength < MAX_STRENGTH && estimated * 2 <= targetLatency.toNanos()) {
+            estimated *= 2;
+            strength++;
+        }
+        return strength;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_PREFIX.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) < strength;
+    }
+}
@@ -1,29 +1,78 @@
 package com.example.enigma.configuration;
 
 import com.example.enigma.exception.ErrorMessage;
+import com.example.enigma.model.entity.User;
 import com.example.enigma.repository.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.CachingUserDetailsService;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Duration;
+
 @Configuration
 @RequiredArgsConstructor
 public class AppConfiguration {
 
     private final UserRepository userRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${user-cache.maximum-size:10000}")
+    private long userCacheMaximumSize;
+
+    @Value("${user-cache.ttl:5m}")
+    private Duration userCacheTimeToLive;
+
+    @Value("${password-hashing.threads:0}")
+    private int passwordHashingThreads;
+
+    @Value("${password-hashing.queue-capacity:64}")
+    private int passwordHashingQueueCapacity;
+
+    @Value("${password-hashing.target-latency:250ms}")
+    private Duration passwordHashingTargetLatency;
+
+    @Value("${password-hashing.min-strength:10}")
+    private int passwordHashingMinStrength;
+
+    @Value("${password-hashing.strength:0}")
+    private int passwordHashingStrength;
+
+    @Bean
+    public UserCache userCache() {
+        return new CaffeineUserCache(meterRegistry, userCacheMaximumSize, userCacheTimeToLive);
+    }
 
     @Bean
     public UserDetailsService userDetailsService() {
-        return username -> userRepository.findByEmail(username)
-                .orElseThrow(() -> new UsernameNotFoundException(String.format(ErrorMessage.USER_NOT_FOUND_BY_EMAIL, username)));
+        CachingUserDetailsService cachingUserDetailsService = new CachingUserDetailsService(username -> userRepository.findByEmail(username)
+                .orElseThrow(() -> new UsernameNotFoundException(String.format(ErrorMessage.USER_NOT_FOUND_BY_EMAIL, username))));
+        cachingUserDetailsService.setUserCache(userCache());
+        return cachingUserDetailsService;
+    }
+
+    @Bean
+    public UserDetailsPasswordService userDetailsPasswordService() {
+        return (userDetails, newPassword) -> {
+            User user = userRepository.findByEmail(userDetails.getUsername())
+                    .orElseThrow(() -> new UsernameNotFoundException(String.format(ErrorMessage.USER_NOT_FOUND_BY_EMAIL, userDetails.getUsername())));
+            user.setPassword(newPassword);
+            userRepository.save(user);
+            userCache().removeUserFromCache(user.getUsername());
+            return user;
+        };
     }
 
     @Bean
@@ -36,11 +85,19 @@ public class AppConfiguration {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService());
         authProvider.setPasswordEncoder(passwordEncode());
+        authProvider.setUserDetailsPasswordService(userDetailsPasswordService());
         return authProvider;
     }
 
     @Bean
     public PasswordEncoder passwordEncode() {
-        return new BCryptPasswordEncoder();
+        int threads = passwordHashingThreads > 0 ? passwordHashingThreads : Runtime.getRuntime().availableProcessors();
+        AdaptiveBCryptPasswordEncoder bCryptPasswordEncoder = passwordHashingStrength > 0
+                ? new AdaptiveBCryptPasswordEncoder(passwordHashingStrength)
+                : AdaptiveBCryptPasswordEncoder.calibrated(passwordHashingTargetLatency, passwordHashingMinStrength);
+        Gauge.builder("password.hashing.strength", bCryptPasswordEncoder, AdaptiveBCryptPasswordEncoder::getStrength)
+                .strongReference(true)
+                .register(meterRegistry);
+        return new BoundedPasswordEncoder(bCryptPasswordEncoder, threads, passwordHashingQueueCapacity, meterRegistry);
     }
 }
@@ -1,25 +1,42 @@
 package com.example.enigma.configuration;
 
+import com.example.enigma.service.TokenRevocationService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetails;
 import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.function.SingletonSupplier;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.function.Supplier;
 
 @RequiredArgsConstructor
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
     private final JwtService jwtService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenRevocationService tokenRevocationService;
     private final UserDetailsService userDetailsService;
+    @Value("${jwt.stateless-principal:false}")
+    private boolean statelessPrincipal;
+    @Value("${security.public-read-paths:/api/tasks/**,/api/users/**}")
+    private String[] publicReadPaths;
 
     @Override
     protected void doFilterInternal(
@@ -28,28 +45,70 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             FilterChain filterChain
     ) throws ServletException, IOException {
         final String jwt;
-        final String login;
         final String authHeader = request.getHeader("Authorization");
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
             return;
         }
         jwt = authHeader.substring(7);
-        login = jwtService.extractUserName(jwt);
-        if (login != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(login);
-            if (jwtService.isValid(jwt, userDetails)) {
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        null,
-                        userDetails.getAuthorities()
-                );
-                authToken.setDetails(
-                        new WebAuthenticationDetails(request)
-                );
-                SecurityContextHolder.getContext().setAuthentication(authToken);
-            }
+        if (isPublicRead(request)) {
+            deferAuthentication(jwt, request);
+        } else if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            authenticate(jwt, request, SecurityContextHolder.getContext());
         }
         filterChain.doFilter(request,response);
     }
+
+    private boolean isPublicRead(HttpServletRequest request) {
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            return false;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (String pattern : publicReadPaths) {
+            if (PATH_MATCHER.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void deferAuthentication(String jwt, HttpServletRequest request) {
+        SecurityContextHolderStrategy strategy = SecurityContextHolder.getContextHolderStrategy();
+        Supplier<SecurityContext> deferredContext = strategy.getDeferredContext();
+        strategy.setDeferredContext(SingletonSupplier.of(() -> {
+            SecurityContext context = deferredContext.get();
+            if (context.getAuthentication() != null) {
+                return context;
+            }
+            try {
+                authenticate(jwt, request, context);
+            } catch (JwtException ex) {
+                context.setAuthentication(null);
+            }
+            return context;
+        }));
+    }
+
+    private void authenticate(String jwt, HttpServletRequest request, SecurityContext context) {
+        Claims claims = verifiedTokenCache.getClaims(jwt);
+        String login = claims.getSubject();
+        if (login == null || tokenRevocationService.isRevoked(claims.getId())) {
+            return;
+        }
+        UserDetails userDetails = statelessPrincipal ? jwtService.extractPrincipal(claims) : null;
+        if (userDetails == null) {
+            userDetails = userDetailsService.loadUserByUsername(login);
+        }
+        if (jwtService.isValid(claims, userDetails)) {
+            UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                    userDetails,
+                    null,
+                    userDetails.getAuthorities()
+            );
+            authToken.setDetails(
+                    new WebAuthenticationDetails(request)
+            );
+            context.setAuthentication(authToken);
+        }
+    }
 }
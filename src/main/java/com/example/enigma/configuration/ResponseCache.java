@@ -0,0 +1,65 @@
+package com.example.enigma.configuration;
+
+import com.example.enigma.event.EntityChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ResponseCache {
+    private final Map<Class<?>, Region> regions = new ConcurrentHashMap<>();
+
+    public ResponseCache(Collection<Class<?>> entityTypes, MeterRegistry meterRegistry, long maximumSize, Duration timeToLive) {
+        entityTypes.forEach(entityType -> {
+            Cache<String, CachedResponse> cache = Caffeine.newBuilder()
+                    .maximumSize(maximumSize)
+                    .expireAfterWrite(timeToLive)
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, "http.responses." + entityType.getSimpleName().toLowerCase());
+            regions.put(entityType, new Region(cache, new AtomicLong()));
+        });
+    }
+
+    public CachedResponse get(Class<?> entityType, String key) {
+        return regions.get(entityType).cache().getIfPresent(key);
+    }
+
+    public long generation(Class<?> entityType) {
+        return regions.get(entityType).generation().get();
+    }
+
+    public void put(Class<?> entityType, String key, long generation, CachedResponse response) {
+        Region region = regions.get(entityType);
+        if (region.generation().get() != generation) {
+            return;
+        }
+        region.cache().put(key, response);
+        if (region.generation().get() != generation) {
+            region.cache().invalidate(key);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        Region region = regions.get(event.entityType());
+        if (region != null) {
+            region.generation().incrementAndGet();
+            region.cache().invalidateAll();
+        }
+    }
+
+    public record CachedResponse(int status, String contentType, Map<String, List<String>> headers, byte[] body) {
+    }
+
+    private record Region(Cache<String, CachedResponse> cache, AtomicLong generation) {
+    }
+}
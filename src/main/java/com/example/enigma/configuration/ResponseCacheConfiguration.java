@@ -0,0 +1,38 @@
+package com.example.enigma.configuration;
+
+import com.example.enigma.model.entity.Task;
+import com.example.enigma.model.entity.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+@ConditionalOnProperty(name = "response-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class ResponseCacheConfiguration {
+    private static final Map<String, Class<?>> CACHED_PATHS = Map.of(
+            "/api/tasks/basic", Task.class,
+            "/api/tasks/unsigned", Task.class,
+            "/api/users/basic", User.class);
+
+    @Bean
+    public ResponseCache responseCache(MeterRegistry meterRegistry,
+                                       @Value("${response-cache.maximum-size:1000}") long maximumSize,
+                                       @Value("${response-cache.ttl:10m}") Duration timeToLive) {
+        return new ResponseCache(List.of(Task.class, User.class), meterRegistry, maximumSize, timeToLive);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ResponseCacheFilter> responseCacheFilter(ResponseCache responseCache) {
+        FilterRegistrationBean<ResponseCacheFilter> registration =
+                new FilterRegistrationBean<>(new ResponseCacheFilter(responseCache, CACHED_PATHS));
+        registration.addUrlPatterns(CACHED_PATHS.keySet().toArray(String[]::new));
+        return registration;
+    }
+}
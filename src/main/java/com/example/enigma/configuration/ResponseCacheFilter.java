@@ -0,0 +1,82 @@
+package com.example.enigma.configuration;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@RequiredArgsConstructor
+public class ResponseCacheFilter extends OncePerRequestFilter {
+    private final ResponseCache responseCache;
+    private final Map<String, Class<?>> cachedPaths;
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        Class<?> entityType = cachedPaths.get(path);
+        if (entityType == null || !HttpMethod.GET.matches(request.getMethod()) || request.getParameter("stream") != null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String key = path + '?' + canonicalQuery(request);
+        ResponseCache.CachedResponse cached = responseCache.get(entityType, key);
+        if (cached != null) {
+            List<String> eTags = cached.headers().get(HttpHeaders.ETAG);
+            if (eTags != null && new ServletWebRequest(request, response).checkNotModified(eTags.getFirst())) {
+                return;
+            }
+            response.setStatus(cached.status());
+            response.setContentType(cached.contentType());
+            cached.headers().forEach((name, values) -> {
+                if (!response.containsHeader(name)) {
+                    values.forEach(value -> response.addHeader(name, value));
+                }
+            });
+            response.setContentLength(cached.body().length);
+            response.getOutputStream().write(cached.body());
+            return;
+        }
+
+        long generation = responseCache.generation(entityType);
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, responseWrapper);
+        if (responseWrapper.getStatus() == HttpStatus.OK.value()) {
+            Map<String, List<String>> headers = new LinkedHashMap<>();
+            responseWrapper.getHeaderNames().stream()
+                    .filter(name -> !HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name) && !HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name))
+                    .forEach(name -> headers.put(name, List.copyOf(responseWrapper.getHeaders(name))));
+            responseCache.put(entityType, key, generation, new ResponseCache.CachedResponse(
+                    responseWrapper.getStatus(), responseWrapper.getContentType(), headers, responseWrapper.getContentAsByteArray()));
+        }
+        responseWrapper.copyBodyToResponse();
+    }
+
+    private static String canonicalQuery(HttpServletRequest request) {
+        StringBuilder query = new StringBuilder();
+        new TreeMap<>(request.getParameterMap()).forEach((name, values) -> {
+            if (!query.isEmpty()) {
+                query.append('&');
+            }
+            query.append(name).append('=').append(String.join(",", values));
+        });
+        return query.toString();
+    }
+}
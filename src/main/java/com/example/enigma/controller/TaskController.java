@@ -1,25 +1,47 @@
 package com.example.enigma.controller;
 
+import com.example.enigma.exception.ErrorMessage;
+import com.example.enigma.exception.task.TaskModifiedException;
+import com.example.enigma.model.BulkDeleteResponse;
 import com.example.enigma.model.SortDirection;
+import com.example.enigma.model.Tagged;
 import com.example.enigma.model.TaskStatus;
+import com.example.enigma.model.entity.Task;
+import com.example.enigma.model.entity.User;
+import com.example.enigma.model.task_dto.TaskBulkCreateRequest;
+import com.example.enigma.model.task_dto.TaskBulkItemResult;
+import com.example.enigma.model.task_dto.TaskBulkStatusRequest;
+import com.example.enigma.model.task_dto.TaskBulkStatusResponse;
+import com.example.enigma.model.task_dto.TaskCursorPage;
 import com.example.enigma.model.task_dto.TaskDto;
 import com.example.enigma.model.task_dto.TaskWithoutIdDto;
 import com.example.enigma.model.task_dto.TaskWithoutUserDto;
 import com.example.enigma.model.user_dto.UserTaskActionRequest;
+import com.example.enigma.service.EntityTagService;
 import com.example.enigma.service.TaskService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api/tasks")
 public class TaskController {
     private final TaskService taskService;
+    private final EntityTagService entityTagService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping("/detailed")
     public List<TaskDto> getDetailedTasks(
@@ -27,30 +49,82 @@ public class TaskController {
             @RequestParam(name = "status", required = false) TaskStatus status,
             @RequestParam(name = "page", required = false, defaultValue = "0") int page,
             @RequestParam(name = "sort", required = false, defaultValue = "false" ) boolean sort,
-            @RequestParam(name = "sort_direction", required = false, defaultValue = "ASC") SortDirection sortDirection) {
+            @RequestParam(name = "sort_direction", required = false, defaultValue = "ASC") SortDirection sortDirection,
+            WebRequest request) {
+        if (request.checkNotModified(entityTagService.forCollections(Task.class, User.class))) {
+            return null;
+        }
         return taskService.findAllDetailed(userId, status, page, sort, sortDirection);
     }
 
+    @GetMapping(value = "/detailed", params = "cursor")
+    public TaskCursorPage<TaskDto> getDetailedTasksByCursor(
+            @RequestParam(name = "user_id", required = false) Long userId,
+            @RequestParam(name = "status", required = false) TaskStatus status,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "sort", required = false, defaultValue = "false" ) boolean sort,
+            @RequestParam(name = "sort_direction", required = false, defaultValue = "ASC") SortDirection sortDirection,
+            WebRequest request) {
+        if (request.checkNotModified(entityTagService.forCollections(Task.class, User.class))) {
+            return null;
+        }
+        return taskService.findAllDetailedByCursor(userId, status, cursor, sort, sortDirection);
+    }
+
     @GetMapping("/basic")
     public List<TaskWithoutUserDto> getBasicTasks(
             @RequestParam(name = "user_id", required = false) Long userId,
             @RequestParam(name = "status", required = false) TaskStatus status,
             @RequestParam(name = "sort", required = false, defaultValue = "false" ) boolean sort,
-            @RequestParam(name = "sort_direction", required = false, defaultValue = "ASC") SortDirection sortDirection){
+            @RequestParam(name = "sort_direction", required = false, defaultValue = "ASC") SortDirection sortDirection,
+            WebRequest request) {
+        if (request.checkNotModified(entityTagService.forCollections(Task.class))) {
+            return null;
+        }
         return taskService.findAllBasic(userId, status, sort, sortDirection);
     }
 
+    @GetMapping(value = "/basic", params = "stream=true", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamBasicTasks(
+            @RequestParam(name = "user_id", required = false) Long userId,
+            @RequestParam(name = "status", required = false) TaskStatus status,
+            @RequestParam(name = "sort", required = false, defaultValue = "false" ) boolean sort,
+            @RequestParam(name = "sort_direction", required = false, defaultValue = "ASC") SortDirection sortDirection) {
+        return NdjsonResponse.<TaskWithoutUserDto>of(objectMapper,
+                consumer -> taskService.streamAllBasic(userId, status, sort, sortDirection, consumer));
+    }
+
     @GetMapping("/unsigned")
     public List<TaskWithoutUserDto> getUnsignedTasks(
             @RequestParam(name = "page", required = false, defaultValue = "0") int page,
             @RequestParam(name = "sort", required = false, defaultValue = "false" ) boolean sort,
-            @RequestParam(name = "sort_direction", required = false, defaultValue = "ASC") SortDirection sortDirection) {
+            @RequestParam(name = "sort_direction", required = false, defaultValue = "ASC") SortDirection sortDirection,
+            WebRequest request) {
+        if (request.checkNotModified(entityTagService.forCollections(Task.class))) {
+            return null;
+        }
         return taskService.findUnsigned(page, sort, sortDirection);
     }
 
+    @GetMapping(value = "/unsigned", params = "cursor")
+    public TaskCursorPage<TaskWithoutUserDto> getUnsignedTasksByCursor(
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "sort", required = false, defaultValue = "false" ) boolean sort,
+            @RequestParam(name = "sort_direction", required = false, defaultValue = "ASC") SortDirection sortDirection,
+            WebRequest request) {
+        if (request.checkNotModified(entityTagService.forCollections(Task.class))) {
+            return null;
+        }
+        return taskService.findUnsignedByCursor(cursor, sort, sortDirection);
+    }
+
     @GetMapping("/{id}")
-    public TaskDto getTask(@PathVariable("id") Long id) {
-        return taskService.findTaskById(id);
+    public TaskDto getTask(@PathVariable("id") Long id, WebRequest request) {
+        Tagged<TaskDto> task = taskService.findTaskById(id);
+        if (request.checkNotModified(task.eTag())) {
+            return null;
+        }
+        return task.body();
     }
 
     @GetMapping("/titles/{title}")
@@ -65,25 +139,40 @@ public class TaskController {
         return taskService.create(newTask);
     }
 
+    @PostMapping("/bulk")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('USER')")
+    public List<TaskBulkItemResult> createTasks(@RequestBody @Valid TaskBulkCreateRequest request) {
+        return taskService.createAll(request.tasks());
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('USER')")
     public TaskDto editTask(@PathVariable("id") Long id,
-                            @RequestBody @Valid TaskWithoutIdDto updatedTask){
-        return taskService.update(id, updatedTask);
+                            @RequestBody @Valid TaskWithoutIdDto updatedTask,
+                            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch){
+        return conditionally(id, ifMatch, () -> taskService.update(id, updatedTask, ifMatch));
+    }
+
+    @PatchMapping("/status")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('USER')")
+    public TaskBulkStatusResponse changeTasksStatus(@RequestBody @Valid TaskBulkStatusRequest request) {
+        return taskService.changeStatusInBulk(request);
     }
 
     @PatchMapping("/{id}/status")
     @PreAuthorize("hasRole('ADMIN') or hasRole('USER')")
     public TaskDto changeTaskStatus(@PathVariable("id") Long id,
-                                    @RequestBody TaskStatus taskStatus) {
-        return taskService.changeStatus(id, taskStatus);
+                                    @RequestBody TaskStatus taskStatus,
+                                    @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return conditionally(id, ifMatch, () -> taskService.changeStatus(id, taskStatus, ifMatch));
     }
 
     @PatchMapping("/{id}/users")
     @PreAuthorize("hasRole('ADMIN') or hasRole('USER')")
     public TaskDto modifyUserAssignmentToTask(@PathVariable("id") Long id,
-                                              @RequestBody UserTaskActionRequest userTaskActionRequest) {
-        return taskService.modifyUserAssignmentToTask(id, userTaskActionRequest);
+                                              @RequestBody UserTaskActionRequest userTaskActionRequest,
+                                              @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return conditionally(id, ifMatch, () -> taskService.modifyUserAssignmentToTask(id, userTaskActionRequest, ifMatch));
     }
 
     @DeleteMapping("/{id}")
@@ -91,4 +180,23 @@ public class TaskController {
     public void removeTask(@PathVariable("id") Long id) {
         taskService.delete(id);
     }
+
+    @DeleteMapping(params = "ids")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('USER')")
+    public BulkDeleteResponse removeTasks(@RequestParam(name = "ids") List<Long> ids) {
+        return taskService.deleteAll(ids);
+    }
+
+    // the forced version increment runs at commit, after the service returned, so a writer that passed the
+    // If-Match check can still lose the race here and must get 412 like any other stale precondition
+    private TaskDto conditionally(Long id, String ifMatch, Supplier<TaskDto> write) {
+        try {
+            return write.get();
+        } catch (OptimisticLockingFailureException ex) {
+            if (ifMatch == null) {
+                throw ex;
+            }
+            throw new TaskModifiedException(String.format(ErrorMessage.TASK_MODIFIED, id));
+        }
+    }
 }
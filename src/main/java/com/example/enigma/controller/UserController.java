@@ -1,18 +1,26 @@
 package com.example.enigma.controller;
 
+import com.example.enigma.model.BulkDeleteResponse;
+import com.example.enigma.model.Tagged;
+import com.example.enigma.model.entity.Task;
 import com.example.enigma.model.entity.User;
 import com.example.enigma.model.user_dto.UserDto;
 import com.example.enigma.model.user_dto.UserPasswordUpdateDto;
 import com.example.enigma.model.user_dto.UserWithTaskIdsAndWithoutIdDto;
 import com.example.enigma.model.user_dto.UserWithoutTaskDto;
 import com.example.enigma.model.user_dto.mapper.AdminPasswordUpdateDto;
+import com.example.enigma.service.EntityTagService;
 import com.example.enigma.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -21,25 +29,47 @@ import java.util.List;
 @RequestMapping("/api/users")
 public class UserController {
     private final UserService userService;
+    private final EntityTagService entityTagService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping("/detailed")
     public List<UserDto> getDetailedUsers(
             @RequestParam(name = "firstName", required = false) String firstName,
             @RequestParam(name = "lastName", required = false) String lastName,
-            @RequestParam(name = "page", required = false, defaultValue = "0") Integer page) {
+            @RequestParam(name = "page", required = false, defaultValue = "0") Integer page,
+            WebRequest request) {
+        if (request.checkNotModified(entityTagService.forCollections(User.class, Task.class))) {
+            return null;
+        }
         return userService.findAllDetailed(firstName, lastName, page);
     }
 
     @GetMapping("/basic")
     public List<UserWithoutTaskDto> getBasicUsers(
             @RequestParam(name = "firstName", required = false) String firstName,
-            @RequestParam(name = "lastName", required = false) String lastName) {
+            @RequestParam(name = "lastName", required = false) String lastName,
+            WebRequest request) {
+        if (request.checkNotModified(entityTagService.forCollections(User.class))) {
+            return null;
+        }
         return userService.findAllBasic(firstName, lastName);
     }
 
+    @GetMapping(value = "/basic", params = "stream=true", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamBasicUsers(
+            @RequestParam(name = "firstName", required = false) String firstName,
+            @RequestParam(name = "lastName", required = false) String lastName) {
+        return NdjsonResponse.<UserWithoutTaskDto>of(objectMapper,
+                consumer -> userService.streamAllBasic(firstName, lastName, consumer));
+    }
+
     @GetMapping("/{id}")
-    public UserDto getUser(@PathVariable("id") Long id) {
-        return userService.findUserById(id);
+    public UserDto getUser(@PathVariable("id") Long id, WebRequest request) {
+        Tagged<UserDto> user = userService.findUserById(id);
+        if (request.checkNotModified(user.eTag())) {
+            return null;
+        }
+        return user.body();
     }
 
     @GetMapping("/current-user")
@@ -82,4 +112,10 @@ public class UserController {
         userService.delete(id);
         return ResponseEntity.ok("User removed successfully");
     }
+
+    @DeleteMapping(params = "ids")
+    @PreAuthorize("hasRole('ADMIN')")
+    public BulkDeleteResponse removeUsers(@RequestParam(name = "ids") List<Long> ids) {
+        return userService.deleteAll(ids);
+    }
 }
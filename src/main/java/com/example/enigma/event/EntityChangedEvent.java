@@ -0,0 +1,4 @@
+package com.example.enigma.event;
+
+public record EntityChangedEvent(Class<?> entityType) {
+}
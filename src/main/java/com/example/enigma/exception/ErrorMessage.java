@@ -9,8 +9,18 @@ public final class ErrorMessage {
     public static final String TASK_NOT_FOUND_BY_ID = "Task with id '%s' not found";
     public static final String TASK_NOT_FOUND_BY_TITLE = "Task with title '%s' not found";
     public static final String TITLE_ALREADY_EXISTS_WITH_TITLE = "Task with title '%s' already exists";
+    public static final String DUPLICATE_TITLE_IN_REQUEST = "Task with title '%s' appears more than once in the request";
     public static final String USER_ALREADY_ATTACHED = "User with ID '%s' is already attached to the task";
     public static final String USER_NOT_ATTACHED = "User with ID '%s' is not attached to the task";
     public static final String LOGIN_EXIST = "Email already in use";
+    public static final String REGISTRATION_INVALID = "User could not be registered with the given data";
     public static final String CURRENT_PASSWORD_INVALID = "Invalid current password";
+    public static final String BEARER_TOKEN_MISSING = "Bearer token is missing";
+    public static final String TOKEN_INVALID = "Token is invalid or expired";
+    public static final String TOKEN_NOT_REVOCABLE = "Token has no id and cannot be revoked";
+    public static final String TOO_MANY_LOGIN_ATTEMPTS = "Too many login attempts, please retry later";
+    public static final String PASSWORD_HASHING_BUSY = "Too many authentication requests, please retry shortly";
+    public static final String TASK_MODIFIED = "Task with id '%s' has been modified, reload it and retry";
+    public static final String CONCURRENT_MODIFICATION = "Resource has been modified concurrently, reload it and retry";
+    public static final String INVALID_CURSOR = "Cursor '%s' is invalid for the requested sort";
 }
@@ -1,10 +1,16 @@
 package com.example.enigma.exception;
 
+import com.example.enigma.exception.authentication.PasswordHashingBusyException;
+import com.example.enigma.exception.authentication.TooManyLoginAttemptsException;
+import com.example.enigma.exception.task.InvalidCursorException;
+import com.example.enigma.exception.task.TaskModifiedException;
 import com.example.enigma.exception.task.TaskNotFoundException;
 import com.example.enigma.exception.task.TitleAlreadyExistsException;
 import com.example.enigma.exception.user.EmailAlreadyExist;
 import com.example.enigma.exception.user.UserAttachedException;
 import com.example.enigma.exception.user.UserNotFoundException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -37,6 +43,24 @@ public class GlobalExceptionHandler {
         return new ErrorResponse(HttpStatus.CONFLICT.value(), ex.getMessage());
     }
 
+    @ExceptionHandler(TaskModifiedException.class)
+    @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+    public @ResponseBody ErrorResponse handleTaskModified(TaskModifiedException ex) {
+        return new ErrorResponse(HttpStatus.PRECONDITION_FAILED.value(), ex.getMessage());
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public @ResponseBody ErrorResponse handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        return new ErrorResponse(HttpStatus.CONFLICT.value(), ErrorMessage.CONCURRENT_MODIFICATION);
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public @ResponseBody ErrorResponse handleInvalidCursor(InvalidCursorException ex) {
+        return new ErrorResponse(HttpStatus.BAD_REQUEST.value(), ex.getMessage());
+    }
+
     @ExceptionHandler(UserAttachedException.class)
     @ResponseStatus(HttpStatus.CONFLICT)
     public @ResponseBody ErrorResponse handleUserAttached(UserAttachedException ex) {
@@ -49,6 +73,20 @@ public class GlobalExceptionHandler {
         return new ErrorResponse(HttpStatus.NOT_FOUND.value(), ex.getMessage());
     }
 
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<ErrorResponse> handlePasswordHashingBusy(PasswordHashingBusyException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ErrorResponse(HttpStatus.SERVICE_UNAVAILABLE.value(), ex.getMessage()));
+    }
+
+    @ExceptionHandler(TooManyLoginAttemptsException.class)
+    public ResponseEntity<ErrorResponse> handleTooManyLoginAttempts(TooManyLoginAttemptsException ex) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "60")
+                .body(new ErrorResponse(HttpStatus.TOO_MANY_REQUESTS.value(), ex.getMessage()));
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ResponseEntity<Object> handleValidationExceptions(MethodArgumentNotValidException ex) {
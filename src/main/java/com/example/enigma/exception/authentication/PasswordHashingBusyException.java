@@ -0,0 +1,7 @@
+package com.example.enigma.exception.authentication;
+
+public class PasswordHashingBusyException extends RuntimeException {
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+}
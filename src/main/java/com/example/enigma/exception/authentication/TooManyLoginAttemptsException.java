@@ -0,0 +1,7 @@
+package com.example.enigma.exception.authentication;
+
+public class TooManyLoginAttemptsException extends RuntimeException {
+    public TooManyLoginAttemptsException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.enigma.exception.task;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
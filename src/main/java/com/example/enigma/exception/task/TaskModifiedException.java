@@ -0,0 +1,7 @@
+package com.example.enigma.exception.task;
+
+public class TaskModifiedException extends RuntimeException {
+    public TaskModifiedException(String message) {
+        super(message);
+    }
+}
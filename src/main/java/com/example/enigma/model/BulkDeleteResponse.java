@@ -0,0 +1,5 @@
+package com.example.enigma.model;
+
+public record BulkDeleteResponse(
+        int deleted) {
+}
@@ -0,0 +1,5 @@
+package com.example.enigma.model;
+
+public enum BulkItemStatus {
+    CREATED, TITLE_ALREADY_EXISTS, DUPLICATE_TITLE
+}
@@ -0,0 +1,6 @@
+package com.example.enigma.model;
+
+public record Tagged<T>(
+        String eTag,
+        T body) {
+}
@@ -0,0 +1,11 @@
+package com.example.enigma.model;
+
+public record VersionStamp(
+        Long marker,
+        Long count,
+        Long versionSum) {
+
+    public String toETag() {
+        return marker + "-" + count + "-" + versionSum;
+    }
+}
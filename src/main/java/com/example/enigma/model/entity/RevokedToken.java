@@ -0,0 +1,21 @@
+package com.example.enigma.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+@Entity
+@Table(name = "revoked_tokens")
+public class RevokedToken {
+    @Id
+    private String jti;
+    @Column(name = "expires_at")
+    private Instant expiresAt;
+}
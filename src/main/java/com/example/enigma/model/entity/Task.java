@@ -3,6 +3,8 @@ package com.example.enigma.model.entity;
 import com.example.enigma.model.TaskStatus;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
 import java.util.HashSet;
@@ -16,10 +18,16 @@ import java.util.Set;
 @AllArgsConstructor
 @Builder
 @Table(name = "tasks")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "tasks")
 public class Task {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "task_id_generator")
+    @TableGenerator(name = "task_id_generator", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "tasks", allocationSize = 50)
     private Long id;
+    @Version
+    private Long version;
     private String title;
     private String description;
     @Enumerated(EnumType.STRING)
@@ -27,5 +35,6 @@ public class Task {
     private TaskStatus taskStatus;
     private LocalDate deadline;
     @ManyToMany(mappedBy = "tasks")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "tasks.users")
     private final Set<User> users = new HashSet<>();
 }
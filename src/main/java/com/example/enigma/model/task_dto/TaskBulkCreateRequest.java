@@ -0,0 +1,11 @@
+package com.example.enigma.model.task_dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+public record TaskBulkCreateRequest(
+        @NotEmpty(message = "tasks cannot be empty")
+        List<@Valid TaskWithoutIdDto> tasks) {
+}
@@ -0,0 +1,11 @@
+package com.example.enigma.model.task_dto;
+
+import com.example.enigma.model.BulkItemStatus;
+
+public record TaskBulkItemResult(
+        int index,
+        String title,
+        Long id,
+        BulkItemStatus status,
+        String message) {
+}
@@ -0,0 +1,24 @@
+package com.example.enigma.model.task_dto;
+
+import com.example.enigma.model.TaskStatus;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+public record TaskBulkStatusRequest(
+        @NotNull(message = "taskStatus cannot be null")
+        TaskStatus taskStatus,
+        List<Long> ids,
+        Long userId,
+        TaskStatus currentStatus) {
+
+    @JsonIgnore
+    @AssertTrue(message = "Provide either ids or a userId/currentStatus filter, not both")
+    public boolean isSelective() {
+        boolean byIds = ids != null && !ids.isEmpty();
+        boolean byFilter = userId != null || currentStatus != null;
+        return byIds != byFilter;
+    }
+}
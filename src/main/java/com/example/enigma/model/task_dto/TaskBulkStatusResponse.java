@@ -0,0 +1,5 @@
+package com.example.enigma.model.task_dto;
+
+public record TaskBulkStatusResponse(
+        int affected) {
+}
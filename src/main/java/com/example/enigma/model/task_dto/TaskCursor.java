@@ -0,0 +1,42 @@
+package com.example.enigma.model.task_dto;
+
+import com.example.enigma.exception.ErrorMessage;
+import com.example.enigma.exception.task.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+public record TaskCursor(
+        LocalDate deadline,
+        Long id) {
+    private static final String SEPARATOR = ":";
+
+    public static TaskCursor of(Long id, LocalDate deadline, boolean sort) {
+        return new TaskCursor(sort ? deadline : null, id);
+    }
+
+    public static TaskCursor decode(String cursor, boolean sort) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(SEPARATOR);
+            if (sort && parts.length == 2) {
+                return new TaskCursor(LocalDate.parse(parts[0]), Long.parseLong(parts[1]));
+            }
+            if (!sort && parts.length == 1) {
+                return new TaskCursor(null, Long.parseLong(parts[0]));
+            }
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new InvalidCursorException(String.format(ErrorMessage.INVALID_CURSOR, cursor));
+        }
+        throw new InvalidCursorException(String.format(ErrorMessage.INVALID_CURSOR, cursor));
+    }
+
+    public String encode() {
+        String value = deadline == null ? String.valueOf(id) : deadline + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.enigma.model.task_dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+public record TaskCursorPage<T>(
+        List<T> content,
+        @JsonProperty("next_cursor")
+        String nextCursor) {
+}
@@ -0,0 +1,35 @@
+package com.example.enigma.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Repository
+@RequiredArgsConstructor
+public class ChangeCounterRepository {
+    static final int STRIPES = 8;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    // each counter is spread over STRIPES rows so concurrent writers rarely wait on the same row lock
+    public void increment(String name) {
+        jdbcTemplate.update("update change_counters set version = version + 1 where name = ? and stripe = ?",
+                name, ThreadLocalRandom.current().nextInt(STRIPES));
+    }
+
+    public Map<String, Long> findVersions(Collection<String> names) {
+        Map<String, Long> versions = new HashMap<>();
+        namedParameterJdbcTemplate.query("select name, sum(version) as version from change_counters where name in (:names) group by name",
+                Map.of("names", names),
+                resultSet -> {
+                    versions.put(resultSet.getString("name"), resultSet.getLong("version"));
+                });
+        return versions;
+    }
+}
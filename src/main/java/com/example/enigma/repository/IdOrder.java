@@ -0,0 +1,22 @@
+package com.example.enigma.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+final class IdOrder {
+    private IdOrder() {
+    }
+
+    static <T> List<T> orderByIds(List<Long> ids, Collection<T> entities, Function<T, Long> idFn) {
+        Map<Long, T> entitiesById = entities.stream()
+                .collect(Collectors.toMap(idFn, Function.identity()));
+        return ids.stream()
+                .map(entitiesById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+}
@@ -2,35 +2,154 @@ package com.example.enigma.repository;
 
 import com.example.enigma.model.TaskStatus;
 import com.example.enigma.model.entity.Task;
+import com.example.enigma.model.task_dto.TaskWithoutUserDto;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task,Long> {
+public interface TaskRepository extends JpaRepository<Task,Long>, TaskRepositoryCustom {
+    String STREAM_FETCH_SIZE = "500";
 
-    @Query("select distinct t from Task t " +
-            "left join fetch t.users u " +
+    @Query("select t.id from Task t " +
             "where (:user_id is null or exists (" +
             "   select 1 from t.users u where u.id = :user_id)) " +
             "and (:status is null or t.taskStatus = :status)")
-    List<Task> findByOptionalUserAndStatusTaskWithUser(@Param("user_id") Long userId, @Param("status") TaskStatus status, Pageable pageable);
+    List<Long> findTaskIdsByOptionalUserAndStatus(@Param("user_id") Long userId, @Param("status") TaskStatus status, Pageable pageable);
 
     @Query("select distinct t from Task t " +
-            "left join users u " +
-            "where (:user_id is null or u.id = :user_id) " +
+            "left join fetch t.users " +
+            "where t.id in :ids")
+    List<Task> findAllWithUsersByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select t.id from Task t " +
+            "where (:user_id is null or exists (" +
+            "   select 1 from t.users u where u.id = :user_id)) " +
+            "and (:status is null or t.taskStatus = :status) " +
+            "and t.id > :last_id")
+    List<Long> findTaskIdsByOptionalUserAndStatusAfterId(@Param("user_id") Long userId, @Param("status") TaskStatus status,
+                                                         @Param("last_id") Long lastId, Pageable pageable);
+
+    @Query("select t.id from Task t " +
+            "where (:user_id is null or exists (" +
+            "   select 1 from t.users u where u.id = :user_id)) " +
+            "and (:status is null or t.taskStatus = :status) " +
+            "and (t.deadline > :last_deadline or (t.deadline = :last_deadline and t.id > :last_id))")
+    List<Long> findTaskIdsByOptionalUserAndStatusAfterDeadline(@Param("user_id") Long userId, @Param("status") TaskStatus status,
+                                                               @Param("last_deadline") LocalDate lastDeadline, @Param("last_id") Long lastId,
+                                                               Pageable pageable);
+
+    @Query("select t.id from Task t " +
+            "where (:user_id is null or exists (" +
+            "   select 1 from t.users u where u.id = :user_id)) " +
+            "and (:status is null or t.taskStatus = :status) " +
+            "and (t.deadline < :last_deadline or (t.deadline = :last_deadline and t.id < :last_id))")
+    List<Long> findTaskIdsByOptionalUserAndStatusBeforeDeadline(@Param("user_id") Long userId, @Param("status") TaskStatus status,
+                                                                @Param("last_deadline") LocalDate lastDeadline, @Param("last_id") Long lastId,
+                                                                Pageable pageable);
+
+    default List<Task> findPageByOptionalUserAndStatusTaskWithUser(Long userId, TaskStatus status, Pageable pageable) {
+        return findAllWithUsersInIdOrder(findTaskIdsByOptionalUserAndStatus(userId, status, pageable));
+    }
+
+    default List<Task> findAllWithUsersInIdOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return IdOrder.orderByIds(ids, findAllWithUsersByIdIn(ids), Task::getId);
+    }
+
+    @Query("select new com.example.enigma.model.task_dto.TaskWithoutUserDto(t.id, t.title, t.description, t.taskStatus, t.deadline) " +
+            "from Task t " +
+            "where (:user_id is null or exists (" +
+            "   select 1 from t.users u where u.id = :user_id)) " +
             "and (:status is null or t.taskStatus = :status)")
-    List<Task> findByOptionalUserAndStatusTask(@Param("user_id") Long userId, @Param("status") TaskStatus status, Pageable pageable);
+    List<TaskWithoutUserDto> findBasicByOptionalUserAndStatus(@Param("user_id") Long userId, @Param("status") TaskStatus status, Sort sort);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("select new com.example.enigma.model.task_dto.TaskWithoutUserDto(t.id, t.title, t.description, t.taskStatus, t.deadline) " +
+            "from Task t " +
+            "where (:user_id is null or exists (" +
+            "   select 1 from t.users u where u.id = :user_id)) " +
+            "and (:status is null or t.taskStatus = :status)")
+    Stream<TaskWithoutUserDto> streamBasicByOptionalUserAndStatus(@Param("user_id") Long userId, @Param("status") TaskStatus status, Sort sort);
 
     Optional<Task> findByTitle(String title);
 
-    @Query("select distinct t from Task t " +
-            "left join t.users u " +
-            "where u is null")
-    List<Task> findUnsignedTasks(Pageable pageable);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Task t set t.taskStatus = :new_status, t.version = t.version + 1 " +
+            "where t.id in :ids " +
+            "and t.taskStatus <> :new_status")
+    int updateStatusByIdIn(@Param("ids") Collection<Long> ids, @Param("new_status") TaskStatus newStatus);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Task t set t.taskStatus = :new_status, t.version = t.version + 1 " +
+            "where (:user_id is null or t.id in (" +
+            "   select ut.id from User u join u.tasks ut where u.id = :user_id)) " +
+            "and (:status is null or t.taskStatus = :status) " +
+            "and t.taskStatus <> :new_status")
+    int updateStatusByOptionalUserAndStatus(@Param("user_id") Long userId, @Param("status") TaskStatus status,
+                                            @Param("new_status") TaskStatus newStatus);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Task t where t.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select t.title from Task t where t.title in :titles")
+    List<String> findExistingTitles(@Param("titles") Collection<String> titles);
+
+    @Query("select t.id from Task t where t.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("select t from Task t where t.id = :id")
+    Optional<Task> findForUpdateById(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true)
+    @Query("update Task t set t.version = t.version + 1 where t.id in :ids")
+    int incrementVersionByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true)
+    @Query("update Task t set t.version = t.version + 1 " +
+            "where t.id in (" +
+            "   select ut.id from User u join u.tasks ut where u.id in :user_ids)")
+    int incrementVersionByUserIdIn(@Param("user_ids") Collection<Long> userIds);
+
+    @Query("select new com.example.enigma.model.task_dto.TaskWithoutUserDto(t.id, t.title, t.description, t.taskStatus, t.deadline) " +
+            "from Task t " +
+            "where t.users is empty")
+    List<TaskWithoutUserDto> findUnsignedBasic(Pageable pageable);
+
+    @Query("select new com.example.enigma.model.task_dto.TaskWithoutUserDto(t.id, t.title, t.description, t.taskStatus, t.deadline) " +
+            "from Task t " +
+            "where t.users is empty " +
+            "and t.id > :last_id")
+    List<TaskWithoutUserDto> findUnsignedBasicAfterId(@Param("last_id") Long lastId, Pageable pageable);
+
+    @Query("select new com.example.enigma.model.task_dto.TaskWithoutUserDto(t.id, t.title, t.description, t.taskStatus, t.deadline) " +
+            "from Task t " +
+            "where t.users is empty " +
+            "and (t.deadline > :last_deadline or (t.deadline = :last_deadline and t.id > :last_id))")
+    List<TaskWithoutUserDto> findUnsignedBasicAfterDeadline(@Param("last_deadline") LocalDate lastDeadline, @Param("last_id") Long lastId, Pageable pageable);
+
+    @Query("select new com.example.enigma.model.task_dto.TaskWithoutUserDto(t.id, t.title, t.description, t.taskStatus, t.deadline) " +
+            "from Task t " +
+            "where t.users is empty " +
+            "and (t.deadline < :last_deadline or (t.deadline = :last_deadline and t.id < :last_id))")
+    List<TaskWithoutUserDto> findUnsignedBasicBeforeDeadline(@Param("last_deadline") LocalDate lastDeadline, @Param("last_id") Long lastId, Pageable pageable);
 }
@@ -0,0 +1,9 @@
+package com.example.enigma.repository;
+
+import com.example.enigma.model.entity.Task;
+
+import java.util.List;
+
+public interface TaskRepositoryCustom {
+    List<Task> persistAllInBatches(List<Task> tasks);
+}
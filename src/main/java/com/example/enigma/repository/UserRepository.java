@@ -1,33 +1,83 @@
 package com.example.enigma.repository;
 
 import com.example.enigma.model.entity.User;
-import org.springframework.data.domain.PageRequest;
+import com.example.enigma.model.user_dto.UserWithoutTaskDto;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+    String STREAM_FETCH_SIZE = "500";
+
+    @Query("select u.id from User u " +
+            "where (:firstName is null or u.firstName = :firstName) " +
+            "and (:lastName is null or u.lastName = :lastName)")
+    List<Long> findUserIdsByOptionalNameAndLastName(@Param("firstName") String firstName, @Param("lastName") String lastName, Pageable pageable);
 
     @Query("select distinct u from User u " +
             "left join fetch u.tasks " +
+            "where u.id in :ids")
+    List<User> findAllWithTasksByIdIn(@Param("ids") Collection<Long> ids);
+
+    default List<User> findPageByOptionalNameAndLastNameWithTasks(String firstName, String lastName, Pageable pageable) {
+        List<Long> ids = findUserIdsByOptionalNameAndLastName(firstName, lastName, pageable);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return IdOrder.orderByIds(ids, findAllWithTasksByIdIn(ids), User::getId);
+    }
+
+    @Query("select new com.example.enigma.model.user_dto.UserWithoutTaskDto(u.id, u.firstName, u.lastName, u.email) " +
+            "from User u " +
             "where (:firstName is null or u.firstName = :firstName) " +
             "and (:lastName is null or u.lastName = :lastName)")
-    List<User> findByOptionalNameAndLastNameWithTasks(@Param("firstName") String firstName, @Param("lastName") String lastName, PageRequest pageRequest);
+    List<UserWithoutTaskDto> findBasicByOptionalNameAndLastName(@Param("firstName") String firstName, @Param("lastName") String lastName);
 
-    @Query("select distinct u from User u " +
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("select new com.example.enigma.model.user_dto.UserWithoutTaskDto(u.id, u.firstName, u.lastName, u.email) " +
+            "from User u " +
             "where (:firstName is null or u.firstName = :firstName) " +
             "and (:lastName is null or u.lastName = :lastName)")
-    List<User> findByOptionalNameAndLastName(@Param("firstName") String firstName, @Param("lastName") String lastName);
+    Stream<UserWithoutTaskDto> streamBasicByOptionalNameAndLastName(@Param("firstName") String firstName, @Param("lastName") String lastName, Sort sort);
 
     Optional<User> findByEmail(String email);
 
-    @Query("select u from User u " +
-            "left join fetch u.tasks " +
-            "where u.id = :id")
-    User findUserWithTasksById(Long id);
+    @Query("select u.email from User u where u.id in :ids")
+    List<String> findEmailsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from User u where u.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select u.id from User u where u.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("select u from User u where u.id = :id")
+    Optional<User> findForUpdateById(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true)
+    @Query("update User u set u.version = u.version + 1 where u.id in :ids")
+    int incrementVersionByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true)
+    @Query("update User u set u.version = u.version + 1 " +
+            "where u.id in (" +
+            "   select tu.id from Task t join t.users tu where t.id in :task_ids)")
+    int incrementVersionByTaskIdIn(@Param("task_ids") Collection<Long> taskIds);
 }
@@ -0,0 +1,6 @@
+package com.example.enigma.repository;
+
+public record UserTaskLink(
+        Long userId,
+        Long taskId) {
+}
@@ -0,0 +1,96 @@
+package com.example.enigma.repository;
+
+import com.example.enigma.model.entity.Task;
+import com.example.enigma.model.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+@Repository
+@RequiredArgsConstructor
+public class UserTaskRepository {
+    public static final int BATCH_SIZE = 1000;
+    private static final String USER_TASKS_ROLE = User.class.getName() + ".tasks";
+    private static final String TASK_USERS_ROLE = Task.class.getName() + ".users";
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public List<Long> findUserIdsByTaskId(Long taskId) {
+        return jdbcTemplate.queryForList("select user_id from user_task where task_id = ?", Long.class, taskId);
+    }
+
+    public List<Long> findTaskIdsByUserId(Long userId) {
+        return jdbcTemplate.queryForList("select task_id from user_task where user_id = ?", Long.class, userId);
+    }
+
+    public void insertAll(Collection<UserTaskLink> links) {
+        batchUpdate("insert into user_task (user_id, task_id) values (?, ?)", links);
+        evictCollectionCaches(cache -> evictLinkOwners(cache, links));
+    }
+
+    public void deleteAll(Collection<UserTaskLink> links) {
+        batchUpdate("delete from user_task where user_id = ? and task_id = ?", links);
+        evictCollectionCaches(cache -> evictLinkOwners(cache, links));
+    }
+
+    public int deleteByTaskIds(Collection<Long> taskIds) {
+        int deleted = namedParameterJdbcTemplate.update("delete from user_task where task_id in (:ids)", Map.of("ids", taskIds));
+        evictCollectionCaches(cache -> {
+            taskIds.forEach(taskId -> cache.evictCollectionData(TASK_USERS_ROLE, taskId));
+            cache.evictCollectionData(USER_TASKS_ROLE);
+        });
+        return deleted;
+    }
+
+    public int deleteByUserIds(Collection<Long> userIds) {
+        int deleted = namedParameterJdbcTemplate.update("delete from user_task where user_id in (:ids)", Map.of("ids", userIds));
+        evictCollectionCaches(cache -> {
+            userIds.forEach(userId -> cache.evictCollectionData(USER_TASKS_ROLE, userId));
+            cache.evictCollectionData(TASK_USERS_ROLE);
+        });
+        return deleted;
+    }
+
+    private static void evictLinkOwners(Cache cache, Collection<UserTaskLink> links) {
+        links.forEach(link -> {
+            cache.evictCollectionData(USER_TASKS_ROLE, link.userId());
+            cache.evictCollectionData(TASK_USERS_ROLE, link.taskId());
+        });
+    }
+
+    private void evictCollectionCaches(Consumer<Cache> eviction) {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        eviction.accept(cache);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    eviction.accept(cache);
+                }
+            });
+        }
+    }
+
+    private void batchUpdate(String sql, Collection<UserTaskLink> links) {
+        if (links.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(sql, links, BATCH_SIZE,
+                (statement, link) -> {
+                    statement.setLong(1, link.userId());
+                    statement.setLong(2, link.taskId());
+                });
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.enigma.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+final class BloomFilter {
+    private static final double LN2 = Math.log(2);
+    private final AtomicLongArray words;
+    private final int bitCount;
+    private final int hashCount;
+
+    private BloomFilter(int bitCount, int hashCount) {
+        this.words = new AtomicLongArray((bitCount + 63) >>> 6);
+        this.bitCount = bitCount;
+        this.hashCount = hashCount;
+    }
+
+    static BloomFilter create(int expectedInsertions, double falsePositiveProbability) {
+        int bitCount = (int) Math.ceil(-expectedInsertions * Math.log(falsePositiveProbability) / (LN2 * LN2));
+        int hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * LN2));
+        return new BloomFilter(bitCount, hashCount);
+    }
+
+    void put(String value) {
+        int firstHash = value.hashCode();
+        int secondHash = secondHash(value);
+        for (int i = 0; i < hashCount; i++) {
+            int index = bitIndex(firstHash, secondHash, i);
+            long mask = 1L << index;
+            int word = index >>> 6;
+            long current;
+            do {
+                current = words.get(word);
+            } while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    boolean mightContain(String value) {
+        int firstHash = value.hashCode();
+        int secondHash = secondHash(value);
+        for (int i = 0; i < hashCount; i++) {
+            int index = bitIndex(firstHash, secondHash, i);
+            if ((words.get(index >>> 6) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int bitIndex(int firstHash, int secondHash, int i) {
+        return ((firstHash + i * secondHash) & Integer.MAX_VALUE) % bitCount;
+    }
+
+    private static int secondHash(String value) {
+        int hash = 0x811c9dc5;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x01000193;
+        }
+        return hash | 1;
+    }
+}
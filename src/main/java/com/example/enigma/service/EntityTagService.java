@@ -0,0 +1,68 @@
+package com.example.enigma.service;
+
+import com.example.enigma.event.EntityChangedEvent;
+import com.example.enigma.model.VersionStamp;
+import com.example.enigma.model.entity.Task;
+import com.example.enigma.model.entity.User;
+import com.example.enigma.repository.ChangeCounterRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class EntityTagService {
+    private static final Map<Class<?>, String> CHANGE_COUNTERS = Map.of(
+            Task.class, "tasks",
+            User.class, "users");
+    private final ChangeCounterRepository changeCounterRepository;
+
+    public String forTask(Task task) {
+        return "task-" + stamp(task.getVersion(), task.getUsers(), User::getVersion).toETag();
+    }
+
+    public boolean matchesTask(Task task, String ifMatch) {
+        return matches(ifMatch, forTask(task));
+    }
+
+    public String forUser(User user) {
+        return "user-" + stamp(user.getVersion(), user.getTasks(), Task::getVersion).toETag();
+    }
+
+    public String forCollections(Class<?>... entityTypes) {
+        List<String> names = Arrays.stream(entityTypes)
+                .map(CHANGE_COUNTERS::get)
+                .toList();
+        Map<String, Long> versions = changeCounterRepository.findVersions(names);
+        return names.stream()
+                .map(name -> name + "-" + versions.getOrDefault(name, 0L))
+                .collect(Collectors.joining("-"));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        String name = CHANGE_COUNTERS.get(event.entityType());
+        if (name != null) {
+            changeCounterRepository.increment(name);
+        }
+    }
+
+    private static <T> VersionStamp stamp(Long version, Collection<T> linked, ToLongFunction<T> linkedVersion) {
+        return new VersionStamp(version, (long) linked.size(), linked.stream().mapToLong(linkedVersion).sum());
+    }
+
+    private static boolean matches(String ifMatch, String eTag) {
+        String quotedETag = "\"" + eTag + "\"";
+        return Arrays.stream(ifMatch.split(","))
+                .map(String::trim)
+                .anyMatch(candidate -> candidate.equals("*") || candidate.equals(quotedETag));
+    }
+}
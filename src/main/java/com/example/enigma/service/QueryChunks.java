@@ -0,0 +1,34 @@
+package com.example.enigma.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+final class QueryChunks {
+    static final int IN_CLAUSE_CHUNK_SIZE = 1000;
+
+    private QueryChunks() {
+    }
+
+    static <T, R> Set<R> findAll(Collection<T> values, Function<List<T>, List<R>> query) {
+        List<T> valueList = new ArrayList<>(values);
+        Set<R> found = new HashSet<>();
+        for (int from = 0; from < valueList.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            found.addAll(query.apply(valueList.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, valueList.size()))));
+        }
+        return found;
+    }
+
+    static <T> int sum(Collection<T> values, ToIntFunction<List<T>> update) {
+        List<T> valueList = new ArrayList<>(values);
+        int affected = 0;
+        for (int from = 0; from < valueList.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            affected += update.applyAsInt(valueList.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, valueList.size())));
+        }
+        return affected;
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.enigma.service;
+
+import com.example.enigma.event.EntityChangedEvent;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+@Component
+@RequiredArgsConstructor
+public class RequestCoalescer {
+    private final Map<FlightKey, Flight> inFlight = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    @SuppressWarnings("unchecked")
+    public <T> T load(String operation, Object key, Supplier<T> loader) {
+        FlightKey flightKey = new FlightKey(operation, key);
+        Flight flight = new Flight(new CompletableFuture<>(), new AtomicInteger(1));
+        Flight existing = inFlight.putIfAbsent(flightKey, flight);
+        if (existing != null) {
+            existing.callers().incrementAndGet();
+            meterRegistry.counter("requests.coalesced", "operation", operation).increment();
+            return (T) await(existing.result());
+        }
+
+        try {
+            T value = loader.get();
+            flight.result().complete(value);
+            return value;
+        } catch (RuntimeException | Error ex) {
+            flight.result().completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(flightKey, flight);
+            DistributionSummary.builder("requests.coalesced.callers")
+                    .tag("operation", operation)
+                    .register(meterRegistry)
+                    .record(flight.callers().get());
+        }
+    }
+
+    // a committed write detaches every flight, so callers arriving after it never join a lookup that started before it
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        inFlight.clear();
+    }
+
+    private static Object await(CompletableFuture<Object> result) {
+        try {
+            return result.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw ex;
+        }
+    }
+
+    private record FlightKey(String operation, Object key) {
+    }
+
+    private record Flight(CompletableFuture<Object> result, AtomicInteger callers) {
+    }
+}
@@ -2,22 +2,35 @@ package com.example.enigma.service;
 
 import com.example.enigma.model.entity.Task;
 import com.example.enigma.model.entity.User;
+import com.example.enigma.model.task_dto.TaskBulkItemResult;
+import com.example.enigma.model.task_dto.TaskBulkStatusRequest;
+import com.example.enigma.model.task_dto.TaskBulkStatusResponse;
+import com.example.enigma.model.task_dto.TaskCursor;
+import com.example.enigma.model.task_dto.TaskCursorPage;
 import com.example.enigma.model.task_dto.TaskDto;
 import com.example.enigma.model.task_dto.TaskWithoutIdDto;
 import com.example.enigma.model.task_dto.TaskWithoutUserDto;
 import com.example.enigma.model.task_dto.mapper.TaskDtoMapper;
+import com.example.enigma.event.EntityChangedEvent;
 import com.example.enigma.exception.ErrorMessage;
+import com.example.enigma.exception.task.TaskModifiedException;
 import com.example.enigma.exception.task.TaskNotFoundException;
 import com.example.enigma.exception.task.TitleAlreadyExistsException;
 import com.example.enigma.exception.user.UserAttachedException;
 import com.example.enigma.exception.user.UserNotFoundException;
 import com.example.enigma.model.Action;
+import com.example.enigma.model.BulkDeleteResponse;
+import com.example.enigma.model.BulkItemStatus;
 import com.example.enigma.model.SortDirection;
+import com.example.enigma.model.Tagged;
 import com.example.enigma.model.TaskStatus;
 import com.example.enigma.model.user_dto.UserTaskActionRequest;
 import com.example.enigma.repository.TaskRepository;
 import com.example.enigma.repository.UserRepository;
+import com.example.enigma.repository.UserTaskLink;
+import com.example.enigma.repository.UserTaskRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -25,7 +38,13 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 
 @Service
@@ -33,22 +52,74 @@ import java.util.List;
 public class TaskService {
     private final TaskRepository taskRepository;
     private final UserRepository userRepository;
+    private final UserTaskRepository userTaskRepository;
+    private final UserTaskAssignmentService userTaskAssignmentService;
+    private final EntityTagService entityTagService;
+    private final RequestCoalescer requestCoalescer;
+    private final ApplicationEventPublisher eventPublisher;
     public final static int PAGE_SIZE = 2;
 
     public List<TaskDto> findAllDetailed(Long userId, TaskStatus status, int page, boolean sort, SortDirection sortDirection) {
         Pageable pageable = createPageable(page, sort, sortDirection);
         return TaskDtoMapper.mapToTaskDtos(
-                taskRepository.findByOptionalUserAndStatusTaskWithUser(userId, status, pageable));
+                taskRepository.findPageByOptionalUserAndStatusTaskWithUser(userId, status, pageable));
     }
 
     public List<TaskWithoutUserDto> findAllBasic(Long userId, TaskStatus status, boolean sort, SortDirection sortDirection) {
-        return TaskDtoMapper.mapToTaskWithoutUserDtos(
-                taskRepository.findByOptionalUserAndStatusTask(userId, status, PageRequest.of(0, Integer.MAX_VALUE, createSort(sort, sortDirection))));
+        return taskRepository.findBasicByOptionalUserAndStatus(userId, status, createSort(sort, sortDirection));
+    }
+
+    @Transactional(readOnly = true)
+    public void streamAllBasic(Long userId, TaskStatus status, boolean sort, SortDirection sortDirection, Consumer<TaskWithoutUserDto> consumer) {
+        try (Stream<TaskWithoutUserDto> tasks = taskRepository.streamBasicByOptionalUserAndStatus(userId, status, createSort(sort, sortDirection))) {
+            tasks.forEach(consumer);
+        }
     }
 
     public List<TaskWithoutUserDto> findUnsigned(int page, boolean sort, SortDirection sortDirection) {
         Pageable pageable = createPageable(page, sort, sortDirection);
-        return TaskDtoMapper.mapToTaskWithoutUserDtos(taskRepository.findUnsignedTasks(pageable));
+        return taskRepository.findUnsignedBasic(pageable);
+    }
+
+    public TaskCursorPage<TaskDto> findAllDetailedByCursor(Long userId, TaskStatus status, String cursor, boolean sort, SortDirection sortDirection) {
+        TaskCursor after = TaskCursor.decode(cursor, sort);
+        Pageable pageable = createCursorPageable(sort, sortDirection);
+        List<Long> ids;
+        if (after == null) {
+            ids = taskRepository.findTaskIdsByOptionalUserAndStatus(userId, status, pageable);
+        } else if (!sort) {
+            ids = taskRepository.findTaskIdsByOptionalUserAndStatusAfterId(userId, status, after.id(), pageable);
+        } else if (sortDirection == SortDirection.DESC) {
+            ids = taskRepository.findTaskIdsByOptionalUserAndStatusBeforeDeadline(userId, status, after.deadline(), after.id(), pageable);
+        } else {
+            ids = taskRepository.findTaskIdsByOptionalUserAndStatusAfterDeadline(userId, status, after.deadline(), after.id(), pageable);
+        }
+        List<TaskDto> content = TaskDtoMapper.mapToTaskDtos(taskRepository.findAllWithUsersInIdOrder(ids));
+        String nextCursor = content.size() < PAGE_SIZE ? null :
+                TaskCursor.of(content.getLast().id(), content.getLast().deadline(), sort).encode();
+        return new TaskCursorPage<>(content, nextCursor);
+    }
+
+    public TaskCursorPage<TaskWithoutUserDto> findUnsignedByCursor(String cursor, boolean sort, SortDirection sortDirection) {
+        TaskCursor after = TaskCursor.decode(cursor, sort);
+        Pageable pageable = createCursorPageable(sort, sortDirection);
+        List<TaskWithoutUserDto> content;
+        if (after == null) {
+            content = taskRepository.findUnsignedBasic(pageable);
+        } else if (!sort) {
+            content = taskRepository.findUnsignedBasicAfterId(after.id(), pageable);
+        } else if (sortDirection == SortDirection.DESC) {
+            content = taskRepository.findUnsignedBasicBeforeDeadline(after.deadline(), after.id(), pageable);
+        } else {
+            content = taskRepository.findUnsignedBasicAfterDeadline(after.deadline(), after.id(), pageable);
+        }
+        String nextCursor = content.size() < PAGE_SIZE ? null :
+                TaskCursor.of(content.getLast().id(), content.getLast().deadline(), sort).encode();
+        return new TaskCursorPage<>(content, nextCursor);
+    }
+
+    private Pageable createCursorPageable(boolean sort, SortDirection sortDirection) {
+        return PageRequest.of(0, PAGE_SIZE, createSort(sort, sortDirection));
     }
 
     private Pageable createPageable(int page, boolean sort, SortDirection sortDirection) {
@@ -60,23 +131,27 @@ public class TaskService {
         Sort sorted = Sort.by("id");
         if (sort) {
             sorted = (sortDirection == SortDirection.DESC) ?
-                    Sort.by("deadline").descending() : Sort.by("deadline").ascending();
+                    Sort.by("deadline", "id").descending() : Sort.by("deadline", "id").ascending();
         }
         return sorted;
     }
 
-    public TaskDto findTaskById(Long id) {
-        return TaskDtoMapper.mapToTaskDto(taskRepository.findById(id)
-                .orElseThrow(() -> new TaskNotFoundException(String.format(ErrorMessage.TASK_NOT_FOUND_BY_ID, id))));
+    public Tagged<TaskDto> findTaskById(Long id) {
+        return requestCoalescer.load("task.by-id", id, () -> {
+            Task task = taskRepository.findById(id)
+                    .orElseThrow(() -> new TaskNotFoundException(String.format(ErrorMessage.TASK_NOT_FOUND_BY_ID, id)));
+            return new Tagged<>(entityTagService.forTask(task), TaskDtoMapper.mapToTaskDto(task));
+        });
     }
 
     public TaskDto findTaskByTitle(String title) {
-        return TaskDtoMapper.mapToTaskDto(taskRepository.findByTitle(title)
-                .orElseThrow(() -> new TaskNotFoundException(String.format(ErrorMessage.TASK_NOT_FOUND_BY_TITLE, title))));
+        return requestCoalescer.load("task.by-title", title, () -> TaskDtoMapper.mapToTaskDto(taskRepository.findByTitle(title)
+                .orElseThrow(() -> new TaskNotFoundException(String.format(ErrorMessage.TASK_NOT_FOUND_BY_TITLE, title)))));
     }
 
     @Transactional
     public TaskDto create(TaskWithoutIdDto newTask) {
+        eventPublisher.publishEvent(new EntityChangedEvent(Task.class));
         if (taskRepository.findByTitle(newTask.title()).isPresent()) {
             throw new TitleAlreadyExistsException(String.format(ErrorMessage.TITLE_ALREADY_EXISTS_WITH_TITLE, newTask.title()));
         }
@@ -92,32 +167,75 @@ public class TaskService {
     }
 
     @Transactional
-    public TaskDto update(Long id, TaskWithoutIdDto updatedTask) {
-        return taskRepository.findById(id)
+    public List<TaskBulkItemResult> createAll(List<TaskWithoutIdDto> newTasks) {
+        eventPublisher.publishEvent(new EntityChangedEvent(Task.class));
+        Set<String> existingTitles = QueryChunks.findAll(newTasks.stream()
+                .map(TaskWithoutIdDto::title)
+                .collect(Collectors.toSet()), taskRepository::findExistingTitles);
+        Set<Long> existingUserIds = QueryChunks.findAll(newTasks.stream()
+                .filter(newTask -> newTask.usersIds() != null)
+                .flatMap(newTask -> newTask.usersIds().stream())
+                .collect(Collectors.toSet()), userRepository::findExistingIds);
+
+        TaskBulkItemResult[] results = new TaskBulkItemResult[newTasks.size()];
+        Set<String> requestedTitles = new HashSet<>();
+        List<Task> tasksToCreate = new ArrayList<>();
+        List<Integer> createdIndexes = new ArrayList<>();
+        for (int i = 0; i < newTasks.size(); i++) {
+            TaskWithoutIdDto newTask = newTasks.get(i);
+            if (existingTitles.contains(newTask.title())) {
+                results[i] = new TaskBulkItemResult(i, newTask.title(), null, BulkItemStatus.TITLE_ALREADY_EXISTS,
+                        String.format(ErrorMessage.TITLE_ALREADY_EXISTS_WITH_TITLE, newTask.title()));
+            } else if (!requestedTitles.add(newTask.title())) {
+                results[i] = new TaskBulkItemResult(i, newTask.title(), null, BulkItemStatus.DUPLICATE_TITLE,
+                        String.format(ErrorMessage.DUPLICATE_TITLE_IN_REQUEST, newTask.title()));
+            } else {
+                tasksToCreate.add(Task.builder()
+                        .title(newTask.title())
+                        .description(newTask.description())
+                        .taskStatus(newTask.taskStatus())
+                        .deadline(newTask.deadline())
+                        .build());
+                createdIndexes.add(i);
+            }
+        }
+
+        List<Task> createdTasks = taskRepository.persistAllInBatches(tasksToCreate);
+        List<UserTaskLink> links = new ArrayList<>();
+        for (int j = 0; j < createdTasks.size(); j++) {
+            Task task = createdTasks.get(j);
+            int index = createdIndexes.get(j);
+            List<Long> usersIds = newTasks.get(index).usersIds();
+            if (usersIds != null) {
+                usersIds.stream()
+                        .distinct()
+                        .filter(existingUserIds::contains)
+                        .forEach(userId -> links.add(new UserTaskLink(userId, task.getId())));
+            }
+            results[index] = new TaskBulkItemResult(index, task.getTitle(), task.getId(), BulkItemStatus.CREATED, null);
+        }
+        userTaskRepository.insertAll(links);
+        QueryChunks.sum(links.stream()
+                .map(UserTaskLink::userId)
+                .collect(Collectors.toSet()), userRepository::incrementVersionByIdIn);
+        return List.of(results);
+    }
+
+    @Transactional
+    public TaskDto update(Long id, TaskWithoutIdDto updatedTask, String ifMatch) {
+        eventPublisher.publishEvent(new EntityChangedEvent(Task.class));
+        return taskRepository.findForUpdateById(id)
                 .map(task -> {
+                    checkVersion(task, ifMatch);
                     String newTitle = updatedTask.title();
                     if (!task.getTitle().equals(newTitle) &&
                             taskRepository.findByTitle(newTitle).isPresent()) {
                         throw new TitleAlreadyExistsException(String.format(ErrorMessage.TITLE_ALREADY_EXISTS_WITH_TITLE, updatedTask.title()));
                     }
 
-                    List<Long> oldUsersIds = task.getUsers().stream()
-                            .map(User::getId)
-                            .toList();
-
-                    List<Long> userIdsToRemove = oldUsersIds.stream()
-                            .filter(oldUserId -> !updatedTask.usersIds().contains(oldUserId))
-                            .toList();
-
-                    List<Long> userIdsToAdd = updatedTask.usersIds().stream()
-                            .filter(newUserId -> !oldUsersIds.contains(newUserId))
-                            .toList();
-
-                    List<User> usersToAdd = userRepository.findAllById(userIdsToAdd);
-                    List<User> usersToRemove = userRepository.findAllById(userIdsToRemove);
-
-                    usersToAdd.forEach(user -> user.addTask(task));
-                    usersToRemove.forEach(user -> user.removeTask(task));
+                    if (updatedTask.usersIds() != null) {
+                        userTaskAssignmentService.replaceUsersOfTask(task.getId(), updatedTask.usersIds());
+                    }
 
                     task.setTitle(updatedTask.title());
                     task.setDescription(updatedTask.description());
@@ -128,18 +246,33 @@ public class TaskService {
     }
 
     @Transactional
-    public TaskDto changeStatus(Long id, TaskStatus taskStatus) {
+    public TaskDto changeStatus(Long id, TaskStatus taskStatus, String ifMatch) {
+        eventPublisher.publishEvent(new EntityChangedEvent(Task.class));
         return taskRepository.findById(id)
                 .map(task -> {
+                    checkVersion(task, ifMatch);
                     task.setTaskStatus(taskStatus);
                     return TaskDtoMapper.mapToTaskDto(taskRepository.save(task));
                 }).orElseThrow(() -> new TaskNotFoundException(String.format(ErrorMessage.TASK_NOT_FOUND_BY_ID, id)));
     }
 
     @Transactional
-    public TaskDto modifyUserAssignmentToTask(Long id, UserTaskActionRequest userTaskActionRequest) {
-        return taskRepository.findById(id)
+    public TaskBulkStatusResponse changeStatusInBulk(TaskBulkStatusRequest request) {
+        eventPublisher.publishEvent(new EntityChangedEvent(Task.class));
+        if (request.ids() == null || request.ids().isEmpty()) {
+            return new TaskBulkStatusResponse(
+                    taskRepository.updateStatusByOptionalUserAndStatus(request.userId(), request.currentStatus(), request.taskStatus()));
+        }
+        return new TaskBulkStatusResponse(QueryChunks.sum(new LinkedHashSet<>(request.ids()),
+                ids -> taskRepository.updateStatusByIdIn(ids, request.taskStatus())));
+    }
+
+    @Transactional
+    public TaskDto modifyUserAssignmentToTask(Long id, UserTaskActionRequest userTaskActionRequest, String ifMatch) {
+        eventPublisher.publishEvent(new EntityChangedEvent(Task.class));
+        return taskRepository.findForUpdateById(id)
                 .map(task -> {
+                    checkVersion(task, ifMatch);
                     List<Long> useIds = task.getUsers().stream().
                             map(User::getId)
                             .toList();
@@ -170,12 +303,28 @@ public class TaskService {
         }
     }
 
+    private void checkVersion(Task task, String ifMatch) {
+        if (ifMatch != null && !entityTagService.matchesTask(task, ifMatch)) {
+            throw new TaskModifiedException(String.format(ErrorMessage.TASK_MODIFIED, task.getId()));
+        }
+    }
+
     @Transactional
     public void delete(Long id) {
-        Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new TaskNotFoundException(String.format(ErrorMessage.TASK_NOT_FOUND_BY_ID, id)));
-        new ArrayList<>(task.getUsers()).forEach(user -> user.removeTask(task));
-        taskRepository.deleteById(id);
+        eventPublisher.publishEvent(new EntityChangedEvent(Task.class));
+        userTaskAssignmentService.removeAllForTasks(List.of(id));
+        if (taskRepository.deleteByIdIn(List.of(id)) == 0) {
+            throw new TaskNotFoundException(String.format(ErrorMessage.TASK_NOT_FOUND_BY_ID, id));
+        }
+    }
+
+    @Transactional
+    public BulkDeleteResponse deleteAll(List<Long> ids) {
+        eventPublisher.publishEvent(new EntityChangedEvent(Task.class));
+        return new BulkDeleteResponse(QueryChunks.sum(new LinkedHashSet<>(ids), chunk -> {
+            userTaskAssignmentService.removeAllForTasks(chunk);
+            return taskRepository.deleteByIdIn(chunk);
+        }));
     }
 
     private User getUser(Long userId) {
@@ -0,0 +1,77 @@
+package com.example.enigma.service;
+
+import com.example.enigma.model.entity.RevokedToken;
+import com.example.enigma.repository.RevokedTokenRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@RequiredArgsConstructor
+public class TokenRevocationService {
+    private static final double FALSE_POSITIVE_PROBABILITY = 0.01;
+    private static final int MIN_EXPECTED_REVOCATIONS = 1024;
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final Map<String, Instant> localRevocations = new ConcurrentHashMap<>();
+    private volatile Snapshot snapshot = Snapshot.of(List.of());
+
+    public void revoke(String jti, Instant expiresAt) {
+        localRevocations.put(jti, expiresAt);
+        revokedTokenRepository.save(new RevokedToken(jti, expiresAt));
+        Snapshot current;
+        do {
+            current = snapshot;
+            current.add(jti);
+        } while (current != snapshot);
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null) {
+            return false;
+        }
+        Snapshot current = snapshot;
+        if (!current.bloomFilter().mightContain(jti)) {
+            return false;
+        }
+        return current.revoked().contains(jti) || revokedTokenRepository.existsById(jti);
+    }
+
+    @Scheduled(fixedDelayString = "${token-revocation.rebuild-interval:PT5M}")
+    @Transactional
+    public void rebuild() {
+        Instant now = Instant.now();
+        revokedTokenRepository.deleteExpired(now);
+        List<String> activeJtis = revokedTokenRepository.findActiveJtis(now);
+        Snapshot next = Snapshot.of(activeJtis);
+        localRevocations.keySet().forEach(next::add);
+        snapshot = next;
+        localRevocations.keySet().forEach(next::add);
+
+        Set<String> persisted = Set.copyOf(activeJtis);
+        localRevocations.entrySet().removeIf(revocation ->
+                persisted.contains(revocation.getKey()) || revocation.getValue().isBefore(now));
+    }
+
+    private record Snapshot(BloomFilter bloomFilter, Set<String> revoked) {
+        static Snapshot of(Collection<String> jtis) {
+            BloomFilter bloomFilter = BloomFilter.create(Math.max(jtis.size() * 2, MIN_EXPECTED_REVOCATIONS), FALSE_POSITIVE_PROBABILITY);
+            Set<String> revoked = ConcurrentHashMap.newKeySet(jtis.size());
+            jtis.forEach(bloomFilter::put);
+            revoked.addAll(jtis);
+            return new Snapshot(bloomFilter, revoked);
+        }
+
+        void add(String jti) {
+            bloomFilter.put(jti);
+            revoked.add(jti);
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.enigma.service;
 
+import com.example.enigma.event.EntityChangedEvent;
+import com.example.enigma.model.BulkDeleteResponse;
+import com.example.enigma.model.Tagged;
 import com.example.enigma.model.entity.Task;
 import com.example.enigma.model.entity.User;
 import com.example.enigma.model.user_dto.UserDto;
@@ -11,38 +14,59 @@ import com.example.enigma.exception.ErrorMessage;
 import com.example.enigma.exception.user.EmailAlreadyExist;
 import com.example.enigma.exception.user.UserNotFoundException;
 import com.example.enigma.model.user_dto.mapper.AdminPasswordUpdateDto;
-import com.example.enigma.repository.TaskRepository;
 import com.example.enigma.repository.UserRepository;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class UserService {
     private final UserRepository userRepository;
-    private final TaskRepository taskRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserTaskAssignmentService userTaskAssignmentService;
+    private final UserCache userCache;
+    private final EntityTagService entityTagService;
+    private final RequestCoalescer requestCoalescer;
+    private final ApplicationEventPublisher eventPublisher;
     public static final int PAGE_SIZE = 2;
 
     public List<UserDto> findAllDetailed(String name, String lastName, int page) {
         int pageNumber = page >= 1 ? page - 1 : 0;
         return UserDtoMapper.mapToUserDtos(
-                userRepository.findByOptionalNameAndLastNameWithTasks(name, lastName, PageRequest.of(pageNumber, PAGE_SIZE)));
+                userRepository.findPageByOptionalNameAndLastNameWithTasks(name, lastName, PageRequest.of(pageNumber, PAGE_SIZE, Sort.by("id"))));
     }
 
     public List<UserWithoutTaskDto> findAllBasic(String name, String lastName) {
-        return UserDtoMapper.mapToUserWithoutTaskDtos(userRepository.findByOptionalNameAndLastName(name, lastName));
+        return userRepository.findBasicByOptionalNameAndLastName(name, lastName);
     }
 
-    public UserDto findUserById(Long id) {
-        return UserDtoMapper.mapToUserDto(userRepository.findById(id)
-                .orElseThrow(() -> new UserNotFoundException(String.format(ErrorMessage.USER_NOT_FOUND_BY_ID, id))));
+    @Transactional(readOnly = true)
+    public void streamAllBasic(String name, String lastName, Consumer<UserWithoutTaskDto> consumer) {
+        try (Stream<UserWithoutTaskDto> users = userRepository.streamBasicByOptionalNameAndLastName(name, lastName, Sort.by("id"))) {
+            users.forEach(consumer);
+        }
+    }
+
+    public Tagged<UserDto> findUserById(Long id) {
+        return requestCoalescer.load("user.by-id", id, () -> {
+            User user = userRepository.findById(id)
+                    .orElseThrow(() -> new UserNotFoundException(String.format(ErrorMessage.USER_NOT_FOUND_BY_ID, id)));
+            return new Tagged<>(entityTagService.forUser(user), UserDtoMapper.mapToUserDto(user));
+        });
     }
 
     public UserDto findCurrentUser(User user) {
@@ -52,37 +76,26 @@ public class UserService {
     }
 
     public UserDto findUserByEmail(String email) {
-        return UserDtoMapper.mapToUserDto(userRepository.findByEmail(email)
-                .orElseThrow(() -> new UserNotFoundException(String.format(ErrorMessage.USER_NOT_FOUND_BY_EMAIL, email))));
+        return requestCoalescer.load("user.by-email", email, () -> UserDtoMapper.mapToUserDto(userRepository.findByEmail(email)
+                .orElseThrow(() -> new UserNotFoundException(String.format(ErrorMessage.USER_NOT_FOUND_BY_EMAIL, email)))));
     }
 
     @Transactional
     public UserDto updateUserData(User currentUser, UserWithTaskIdsAndWithoutIdDto updatedUser) {
+        eventPublisher.publishEvent(new EntityChangedEvent(User.class));
         if (!currentUser.getEmail().equals(updatedUser.email()) &&
                 userRepository.findByEmail(updatedUser.email()).isPresent()) {
             throw new EmailAlreadyExist(String.format(ErrorMessage.EMAIL_ALREADY_EXISTS));
         }
-        currentUser = userRepository.findUserWithTasksById(currentUser.getId());
+        Long currentUserId = currentUser.getId();
+        currentUser = userRepository.findForUpdateById(currentUserId)
+                .orElseThrow(() -> new UserNotFoundException(String.format(ErrorMessage.USER_NOT_FOUND_BY_ID, currentUserId)));
         if (updatedUser.taskIds() != null) {
-            List<Long> oldTaskIds = currentUser.getTasks().stream()
-                    .map(Task::getId)
-                    .toList();
-
-            List<Long> taskIdsToRemove = oldTaskIds.stream()
-                    .filter(oldTaskId -> !updatedUser.taskIds().contains(oldTaskId))
-                    .toList();
-
-            List<Task> taskToRemove = taskRepository.findAllById(taskIdsToRemove);
-            taskToRemove.forEach(currentUser::removeTask);
-
-            List<Long> taskIdsToAdd = updatedUser.taskIds().stream()
-                    .filter(newTaskId -> !oldTaskIds.contains(newTaskId))
-                    .toList();
-
-            List<Task> taskToAdd = taskRepository.findAllById(taskIdsToAdd);
-            taskToAdd.forEach(currentUser::addTask);
+            eventPublisher.publishEvent(new EntityChangedEvent(Task.class));
+            userTaskAssignmentService.replaceTasksOfUser(currentUserId, updatedUser.taskIds());
         }
 
+        evictFromUserCache(currentUser.getEmail());
         currentUser.setFirstName(updatedUser.firstName());
         currentUser.setEmail(updatedUser.email());
         currentUser.setLastName(updatedUser.lastName());
@@ -95,19 +108,55 @@ public class UserService {
                 .orElseThrow(() -> new UserNotFoundException(String.format(ErrorMessage.USER_NOT_FOUND_BY_EMAIL, request.email())));
         user.setPassword(passwordEncoder.encode(request.newPassword()));
         userRepository.save(user);
+        evictFromUserCache(user.getEmail());
     }
 
     public void editUserPasswordByUser(User currentUser, UserPasswordUpdateDto request) throws IllegalArgumentException {
-        if (!passwordEncoder.matches(request.oldPassword(), currentUser.getPassword())) {
+        Long currentUserId = currentUser.getId();
+        User user = userRepository.findById(currentUserId)
+                .orElseThrow(() -> new UserNotFoundException(String.format(ErrorMessage.USER_NOT_FOUND_BY_ID, currentUserId)));
+        if (!passwordEncoder.matches(request.oldPassword(), user.getPassword())) {
             throw new IllegalArgumentException(ErrorMessage.CURRENT_PASSWORD_INVALID);
         }
 
-        currentUser.setPassword(passwordEncoder.encode(request.newPassword()));
-        userRepository.save(currentUser);
+        user.setPassword(passwordEncoder.encode(request.newPassword()));
+        userRepository.save(user);
+        evictFromUserCache(user.getEmail());
     }
 
     @Transactional
     public void delete(Long id) {
-        userRepository.deleteById(id);
+        publishUsersAndTasksChanged();
+        userRepository.findEmailsByIdIn(List.of(id)).forEach(this::evictFromUserCache);
+        userTaskAssignmentService.removeAllForUsers(List.of(id));
+        userRepository.deleteByIdIn(List.of(id));
+    }
+
+    @Transactional
+    public BulkDeleteResponse deleteAll(List<Long> ids) {
+        publishUsersAndTasksChanged();
+        return new BulkDeleteResponse(QueryChunks.sum(new LinkedHashSet<>(ids), chunk -> {
+            userRepository.findEmailsByIdIn(chunk).forEach(this::evictFromUserCache);
+            userTaskAssignmentService.removeAllForUsers(chunk);
+            return userRepository.deleteByIdIn(chunk);
+        }));
+    }
+
+    private void publishUsersAndTasksChanged() {
+        eventPublisher.publishEvent(new EntityChangedEvent(User.class));
+        eventPublisher.publishEvent(new EntityChangedEvent(Task.class));
+    }
+
+    private void evictFromUserCache(String email) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            userCache.removeUserFromCache(email);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                userCache.removeUserFromCache(email);
+            }
+        });
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,75 @@
+package com.example.enigma.service;
+
+import com.example.enigma.repository.TaskRepository;
+import com.example.enigma.repository.UserRepository;
+import com.example.enigma.repository.UserTaskLink;
+import com.example.enigma.repository.UserTaskRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+public class UserTaskAssignmentService {
+    private final UserTaskRepository userTaskRepository;
+    private final UserRepository userRepository;
+    private final TaskRepository taskRepository;
+
+    @Transactional
+    public void replaceUsersOfTask(Long taskId, Collection<Long> userIds) {
+        Set<Long> currentUserIds = new HashSet<>(userTaskRepository.findUserIdsByTaskId(taskId));
+        Set<Long> requestedUserIds = new HashSet<>(userIds);
+
+        Set<Long> userIdsToAdd = new HashSet<>(requestedUserIds);
+        userIdsToAdd.removeAll(currentUserIds);
+        Set<Long> existingUserIdsToAdd = QueryChunks.findAll(userIdsToAdd, userRepository::findExistingIds);
+
+        currentUserIds.removeAll(requestedUserIds);
+        userTaskRepository.deleteAll(currentUserIds.stream()
+                .map(userId -> new UserTaskLink(userId, taskId))
+                .toList());
+        userTaskRepository.insertAll(existingUserIdsToAdd.stream()
+                .map(userId -> new UserTaskLink(userId, taskId))
+                .toList());
+
+        currentUserIds.addAll(existingUserIdsToAdd);
+        QueryChunks.sum(currentUserIds, userRepository::incrementVersionByIdIn);
+    }
+
+    @Transactional
+    public void replaceTasksOfUser(Long userId, Collection<Long> taskIds) {
+        Set<Long> currentTaskIds = new HashSet<>(userTaskRepository.findTaskIdsByUserId(userId));
+        Set<Long> requestedTaskIds = new HashSet<>(taskIds);
+
+        Set<Long> taskIdsToAdd = new HashSet<>(requestedTaskIds);
+        taskIdsToAdd.removeAll(currentTaskIds);
+        Set<Long> existingTaskIdsToAdd = QueryChunks.findAll(taskIdsToAdd, taskRepository::findExistingIds);
+
+        currentTaskIds.removeAll(requestedTaskIds);
+        userTaskRepository.deleteAll(currentTaskIds.stream()
+                .map(taskId -> new UserTaskLink(userId, taskId))
+                .toList());
+        userTaskRepository.insertAll(existingTaskIdsToAdd.stream()
+                .map(taskId -> new UserTaskLink(userId, taskId))
+                .toList());
+
+        currentTaskIds.addAll(existingTaskIdsToAdd);
+        QueryChunks.sum(currentTaskIds, taskRepository::incrementVersionByIdIn);
+    }
+
+    @Transactional
+    public void removeAllForTasks(Collection<Long> taskIds) {
+        userRepository.incrementVersionByTaskIdIn(taskIds);
+        userTaskRepository.deleteByTaskIds(taskIds);
+    }
+
+    @Transactional
+    public void removeAllForUsers(Collection<Long> userIds) {
+        taskRepository.incrementVersionByUserIdIn(userIds);
+        userTaskRepository.deleteByUserIds(userIds);
+    }
+}
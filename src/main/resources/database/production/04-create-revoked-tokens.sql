@@ -0,0 +1,9 @@
+--liquibase formatted sql
+--changeset zuku:1
+
+CREATE TABLE revoked_tokens (
+    jti VARCHAR(36) not null primary key,
+    expires_at TIMESTAMP not null
+);
+
+CREATE INDEX idx_revoked_tokens_expires_at ON revoked_tokens (expires_at);
@@ -0,0 +1,6 @@
+--liquibase formatted sql
+--changeset zuku:1
+
+ALTER TABLE users ADD COLUMN version BIGINT not null DEFAULT 0;
+
+ALTER TABLE tasks ADD COLUMN version BIGINT not null DEFAULT 0;
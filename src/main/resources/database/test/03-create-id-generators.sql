@@ -0,0 +1,13 @@
+--liquibase formatted sql
+--changeset zuku:1
+
+CREATE TABLE id_generators (
+    sequence_name VARCHAR(255) not null primary key,
+    next_val bigint not null
+);
+
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'users', COALESCE(MAX(id), 0) + 1 FROM users;
+
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'tasks', COALESCE(MAX(id), 0) + 1 FROM tasks;
@@ -0,0 +1,15 @@
+--liquibase formatted sql
+--changeset zuku:1
+
+CREATE TABLE change_counters (
+    name VARCHAR(50) not null,
+    stripe INT not null,
+    version BIGINT not null DEFAULT 0,
+    primary key (name, stripe)
+);
+
+INSERT INTO change_counters (name, stripe, version)
+VALUES ('tasks', 0, 0), ('tasks', 1, 0), ('tasks', 2, 0), ('tasks', 3, 0),
+       ('tasks', 4, 0), ('tasks', 5, 0), ('tasks', 6, 0), ('tasks', 7, 0),
+       ('users', 0, 0), ('users', 1, 0), ('users', 2, 0), ('users', 3, 0),
+       ('users', 4, 0), ('users', 5, 0), ('users', 6, 0), ('users', 7, 0);
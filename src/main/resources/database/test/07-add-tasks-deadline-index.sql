@@ -0,0 +1,4 @@
+--liquibase formatted sql
+--changeset zuku:1
+
+CREATE INDEX idx_tasks_deadline_id ON tasks (deadline, id);
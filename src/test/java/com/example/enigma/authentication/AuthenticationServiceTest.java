@@ -0,0 +1,118 @@
+package com.example.enigma.authentication;
+
+import com.example.enigma.configuration.JwtService;
+import com.example.enigma.exception.ErrorMessage;
+import com.example.enigma.model.Role;
+import com.example.enigma.model.entity.User;
+import com.example.enigma.repository.UserRepository;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class AuthenticationServiceTest {
+    @Mock
+    UserRepository userRepository;
+    @Mock
+    JwtService jwtService;
+    @Mock
+    AuthenticationManager authenticationManager;
+    @Mock
+    PasswordEncoder passwordEncoder;
+    @Mock
+    LoginThrottle loginThrottle;
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    AuthenticationService authenticationService;
+
+    @Nested
+    @DisplayName("Tests for register")
+    class Register {
+        @Test
+        void shouldSaveUserWithoutEmailPreCheck() {
+            RegisterRequest request = new RegisterRequest("new", "user", "new@example.com", "Password!");
+            given(passwordEncoder.encode("Password!")).willReturn("encoded");
+            given(jwtService.generateToken(any(User.class))).willReturn("token");
+
+            ResponseEntity<Object> response = authenticationService.register(request);
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+            verify(userRepository).saveAndFlush(any(User.class));
+            verify(userRepository, never()).findByEmail(any());
+        }
+
+        @Test
+        void shouldReturnConflictWhenEmailIsTaken() {
+            RegisterRequest request = new RegisterRequest("new", "user", "admin@example.com", "Password!");
+            given(passwordEncoder.encode("Password!")).willReturn("encoded");
+            given(userRepository.saveAndFlush(any(User.class))).willThrow(integrityViolation("users.email"));
+
+            ResponseEntity<Object> response = authenticationService.register(request);
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+            assertThat(response.getBody()).isEqualTo(ErrorMessage.LOGIN_EXIST);
+            verifyNoInteractions(jwtService);
+        }
+
+        @Test
+        void shouldReturnBadRequestWhenAnotherConstraintIsViolated() {
+            RegisterRequest request = new RegisterRequest("new", "user", "new@example.com", "Password!");
+            given(passwordEncoder.encode("Password!")).willReturn("encoded");
+            given(userRepository.saveAndFlush(any(User.class))).willThrow(integrityViolation(null));
+
+            ResponseEntity<Object> response = authenticationService.register(request);
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+            assertThat(response.getBody()).isEqualTo(ErrorMessage.REGISTRATION_INVALID);
+            verifyNoInteractions(jwtService, eventPublisher);
+        }
+
+        private DataIntegrityViolationException integrityViolation(String constraintName) {
+            return new DataIntegrityViolationException("could not execute statement",
+                    new ConstraintViolationException("could not execute statement", new SQLException(), constraintName));
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests for authenticate")
+    class Authenticate {
+        @Test
+        void shouldIssueTokenForAuthenticatedPrincipalWithoutReloadingUser() {
+            User user = User.builder().id(1L).email("user@example.com").password("encoded").role(Role.ROLE_USER).build();
+            given(loginThrottle.tryAcquire("user@example.com", "10.0.0.1")).willReturn(true);
+            given(authenticationManager.authenticate(any()))
+                    .willReturn(new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+            given(jwtService.generateToken(user)).willReturn("token");
+
+            ResponseEntity<Object> response = authenticationService.authenticate(
+                    new AuthenticateRequest("user@example.com", "password"), "10.0.0.1");
+
+            assertThat(response.getBody()).isEqualTo(new AuthenticateResponse("token"));
+            verify(loginThrottle).recordSuccess("user@example.com", "10.0.0.1");
+            verifyNoInteractions(userRepository);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.enigma.authentication;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoginThrottleTest {
+    private final LoginThrottle loginThrottle = new LoginThrottle(3, 5, Duration.ofMinutes(1), 1024);
+
+    @Test
+    void shouldRejectEmailAfterLimitRegardlessOfCase() {
+        assertThat(loginThrottle.tryAcquire("user@example.com", "10.0.0.1")).isTrue();
+        assertThat(loginThrottle.tryAcquire("USER@example.com", "10.0.0.2")).isTrue();
+        assertThat(loginThrottle.tryAcquire("user@example.com", "10.0.0.3")).isTrue();
+
+        assertThat(loginThrottle.tryAcquire("user@example.com", "10.0.0.4")).isFalse();
+        assertThat(loginThrottle.tryAcquire("other@example.com", "10.0.0.4")).isTrue();
+    }
+
+    @Test
+    void shouldRejectIpAfterLimit() {
+        for (int i = 0; i < 5; i++) {
+            assertThat(loginThrottle.tryAcquire("user" + i + "@example.com", "10.0.0.1")).isTrue();
+        }
+
+        assertThat(loginThrottle.tryAcquire("fresh@example.com", "10.0.0.1")).isFalse();
+    }
+
+    @Test
+    void shouldKeepPreviousWindowAttemptsAfterSweep() {
+        for (int i = 0; i < 3; i++) {
+            loginThrottle.tryAcquire("user@example.com", "10.0.0.1");
+        }
+
+        loginThrottle.sweep();
+        assertThat(loginThrottle.tryAcquire("user@example.com", "10.0.0.1")).isFalse();
+
+        loginThrottle.sweep();
+        assertThat(loginThrottle.tryAcquire("user@example.com", "10.0.0.1")).isTrue();
+    }
+
+    @Test
+    void shouldNotThrottleOtherEmailsWhenManyDistinctEmailsAreTried() {
+        LoginThrottle throttle = new LoginThrottle(3, Integer.MAX_VALUE, Duration.ofMinutes(1), 100_000);
+        for (int i = 0; i < 10_000; i++) {
+            throttle.tryAcquire("victim" + i + "@example.com", "10.0.0.1");
+        }
+
+        assertThat(throttle.tryAcquire("user@example.com", "10.0.0.2")).isTrue();
+    }
+
+    @Test
+    void shouldResetEmailAttemptsAfterSuccessfulLogin() {
+        loginThrottle.tryAcquire("user@example.com", "10.0.0.1");
+        loginThrottle.tryAcquire("user@example.com", "10.0.0.1");
+        loginThrottle.sweep();
+        loginThrottle.tryAcquire("user@example.com", "10.0.0.1");
+
+        loginThrottle.recordSuccess("USER@example.com", "10.0.0.1");
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(loginThrottle.tryAcquire("user@example.com", "10.0.0.1")).isTrue();
+        }
+        assertThat(loginThrottle.tryAcquire("user@example.com", "10.0.0.1")).isFalse();
+    }
+
+    @Test
+    void shouldAdmitAtMostLimitWhenManyThreadsRaceOnOneEmail() throws Exception {
+        LoginThrottle throttle = new LoginThrottle(3, 1000, Duration.ofMinutes(1), 1024);
+        int threads = 64;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Callable<Boolean>> attempts = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            String ip = "10.0.0." + i;
+            attempts.add(() -> {
+                start.await();
+                return throttle.tryAcquire("user@example.com", ip);
+            });
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (Callable<Boolean> attempt : attempts) {
+                results.add(executor.submit(attempt));
+            }
+            start.countDown();
+
+            int admitted = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get()) {
+                    admitted++;
+                }
+            }
+            assertThat(admitted).isLessThanOrEqualTo(3);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
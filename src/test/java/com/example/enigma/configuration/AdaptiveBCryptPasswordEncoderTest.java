@@ -0,0 +1,34 @@
+package com.example.enigma.configuration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveBCryptPasswordEncoderTest {
+    private final AdaptiveBCryptPasswordEncoder passwordEncoder = new AdaptiveBCryptPasswordEncoder(5);
+
+    @Test
+    void shouldUpgradeOnlyHashesWithLowerCost() {
+        assertThat(passwordEncoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret"))).isTrue();
+        assertThat(passwordEncoder.upgradeEncoding(passwordEncoder.encode("secret"))).isFalse();
+    }
+
+    @Test
+    void shouldNeverDowngradeHashesWithHigherCost() {
+        assertThat(passwordEncoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("secret"))).isFalse();
+    }
+
+    @Test
+    void shouldStillMatchHashesWithDifferentCost() {
+        assertThat(passwordEncoder.matches("secret", new BCryptPasswordEncoder(4).encode("secret"))).isTrue();
+    }
+
+    @Test
+    void shouldNeverCalibrateBelowMinimumStrength() {
+        assertThat(AdaptiveBCryptPasswordEncoder.calibrateStrength(Duration.ZERO, 4)).isEqualTo(4);
+        assertThat(AdaptiveBCryptPasswordEncoder.calibrateStrength(Duration.ofSeconds(1), 4)).isGreaterThan(4);
+    }
+}
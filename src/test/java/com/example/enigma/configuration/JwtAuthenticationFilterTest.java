@@ -0,0 +1,85 @@
+package com.example.enigma.configuration;
+
+import com.example.enigma.model.Role;
+import com.example.enigma.model.entity.User;
+import com.example.enigma.service.TokenRevocationService;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+    @Spy
+    JwtService jwtService;
+    @Mock
+    VerifiedTokenCache verifiedTokenCache;
+    @Mock
+    TokenRevocationService tokenRevocationService;
+    @Mock
+    UserDetailsService userDetailsService;
+
+    @InjectMocks
+    JwtAuthenticationFilter jwtAuthenticationFilter;
+
+    private User user;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(jwtAuthenticationFilter, "publicReadPaths", new String[]{"/api/tasks/**", "/api/users/**"});
+        user = User.builder().id(1L).email("user@example.com").password("encoded").role(Role.ROLE_USER).build();
+        token = jwtService.generateToken(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldDeferAuthenticationForPublicReadsUntilContextIsUsed() throws Exception {
+        Claims claims = jwtService.extractClaims(token);
+        given(verifiedTokenCache.getClaims(token)).willReturn(claims);
+        given(userDetailsService.loadUserByUsername("user@example.com")).willReturn(user);
+
+        jwtAuthenticationFilter.doFilter(request("GET", "/api/tasks/basic"), new MockHttpServletResponse(), new MockFilterChain());
+
+        verifyNoInteractions(verifiedTokenCache, userDetailsService);
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getPrincipal()).isSameAs(user);
+    }
+
+    @Test
+    void shouldAuthenticateEagerlyForWrites() throws Exception {
+        Claims claims = jwtService.extractClaims(token);
+        given(verifiedTokenCache.getClaims(token)).willReturn(claims);
+        given(userDetailsService.loadUserByUsername("user@example.com")).willReturn(user);
+
+        jwtAuthenticationFilter.doFilter(request("PATCH", "/api/users"), new MockHttpServletResponse(), new MockFilterChain());
+
+        verify(userDetailsService).loadUserByUsername("user@example.com");
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getPrincipal()).isSameAs(user);
+    }
+
+    private MockHttpServletRequest request(String method, String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.enigma.configuration;
+
+import com.example.enigma.model.Role;
+import com.example.enigma.model.entity.User;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtServiceTest {
+    private final JwtService jwtService = new JwtService();
+
+    @Test
+    void shouldRebuildPrincipalFromTokenClaims() {
+        User user = User.builder()
+                .id(7L)
+                .email("admin@example.com")
+                .password("encoded")
+                .role(Role.ROLE_ADMIN)
+                .build();
+
+        Claims claims = jwtService.extractClaims(jwtService.generateToken(user));
+        User principal = jwtService.extractPrincipal(claims);
+
+        assertThat(principal.getId()).isEqualTo(7L);
+        assertThat(principal.getUsername()).isEqualTo("admin@example.com");
+        assertThat(principal.getRole()).isEqualTo(Role.ROLE_ADMIN);
+        assertThat(principal.getPassword()).isNull();
+        assertThat(jwtService.isValid(claims, principal)).isTrue();
+    }
+
+    @Test
+    void shouldNotRebuildPrincipalWithoutUserClaims() {
+        org.springframework.security.core.userdetails.User userDetails =
+                new org.springframework.security.core.userdetails.User("user@example.com", "password", List.of());
+
+        Claims claims = jwtService.extractClaims(jwtService.generateToken(userDetails));
+
+        assertThat(jwtService.extractPrincipal(claims)).isNull();
+    }
+}
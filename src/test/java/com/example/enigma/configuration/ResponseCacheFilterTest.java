@@ -0,0 +1,98 @@
+package com.example.enigma.configuration;
+
+import com.example.enigma.event.EntityChangedEvent;
+import com.example.enigma.model.entity.Task;
+import com.example.enigma.model.entity.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseCacheFilterTest {
+    private final ResponseCache responseCache =
+            new ResponseCache(List.of(Task.class, User.class), new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
+    private final ResponseCacheFilter responseCacheFilter =
+            new ResponseCacheFilter(responseCache, Map.of("/api/tasks/basic", Task.class, "/api/users/basic", User.class));
+    private final AtomicInteger controllerCalls = new AtomicInteger();
+    private final HttpServlet controller = new HttpServlet() {
+        @Override
+        protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setHeader(HttpHeaders.ETAG, "\"tasks-1\"");
+            response.getWriter().write("[" + controllerCalls.incrementAndGet() + "]");
+        }
+    };
+
+    @Test
+    void shouldServeRepeatedRequestsFromCacheRegardlessOfParameterOrder() throws Exception {
+        MockHttpServletResponse first = get("/api/tasks/basic", "sort", "true", "status", "OPEN");
+        MockHttpServletResponse second = get("/api/tasks/basic", "status", "OPEN", "sort", "true");
+
+        assertThat(first.getContentAsString()).isEqualTo("[1]");
+        assertThat(second.getContentAsString()).isEqualTo("[1]");
+        assertThat(second.getContentType()).isEqualTo(MediaType.APPLICATION_JSON_VALUE);
+        assertThat(controllerCalls).hasValue(1);
+    }
+
+    @Test
+    void shouldAnswerNotModifiedFromCacheWhenETagMatches() throws Exception {
+        get("/api/tasks/basic");
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks/basic");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"tasks-1\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        responseCacheFilter.doFilter(request, response, new MockFilterChain(controller));
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("\"tasks-1\"");
+        assertThat(controllerCalls).hasValue(1);
+    }
+
+    @Test
+    void shouldInvalidateOnlyTheChangedEntityType() throws Exception {
+        get("/api/tasks/basic");
+        get("/api/users/basic");
+
+        responseCache.onEntityChanged(new EntityChangedEvent(Task.class));
+
+        assertThat(get("/api/tasks/basic").getContentAsString()).isEqualTo("[3]");
+        assertThat(get("/api/users/basic").getContentAsString()).isEqualTo("[2]");
+    }
+
+    @Test
+    void shouldNotStoreResponseLoadedBeforeInvalidation() throws Exception {
+        long generation = responseCache.generation(Task.class);
+        responseCache.onEntityChanged(new EntityChangedEvent(Task.class));
+
+        responseCache.put(Task.class, "/api/tasks/basic?", generation,
+                new ResponseCache.CachedResponse(200, MediaType.APPLICATION_JSON_VALUE, Map.of(), "[]".getBytes()));
+
+        assertThat(responseCache.get(Task.class, "/api/tasks/basic?")).isNull();
+    }
+
+    private MockHttpServletResponse get(String uri, String... parameters) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        for (int i = 0; i < parameters.length; i += 2) {
+            request.addParameter(parameters[i], parameters[i + 1]);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        responseCacheFilter.doFilter(request, response, new MockFilterChain(controller));
+        return response;
+    }
+}
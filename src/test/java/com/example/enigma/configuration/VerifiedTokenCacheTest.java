@@ -0,0 +1,65 @@
+package com.example.enigma.configuration;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class VerifiedTokenCacheTest {
+    private JwtService jwtService;
+    private SimpleMeterRegistry meterRegistry;
+    private VerifiedTokenCache verifiedTokenCache;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = spy(new JwtService());
+        meterRegistry = new SimpleMeterRegistry();
+        verifiedTokenCache = new VerifiedTokenCache(jwtService, meterRegistry, 100);
+        UserDetails userDetails = new User("test@example.com", "password", List.of());
+        token = jwtService.generateToken(userDetails);
+    }
+
+    @Test
+    void shouldVerifySignatureOnlyOnFirstLookup() {
+        Claims first = verifiedTokenCache.getClaims(token);
+        Claims second = verifiedTokenCache.getClaims(token);
+
+        assertThat(second).isSameAs(first);
+        assertThat(second.getSubject()).isEqualTo("test@example.com");
+        verify(jwtService, times(1)).extractClaims(token);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", VerifiedTokenCache.CACHE_NAME)
+                .tag("result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", VerifiedTokenCache.CACHE_NAME)
+                .tag("result", "miss").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotCacheTokensThatFailVerification() {
+        String tampered = Jwts.builder()
+                .setSubject("test@example.com")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.secretKeyFor(SignatureAlgorithm.HS256))
+                .compact();
+
+        assertThatThrownBy(() -> verifiedTokenCache.getClaims(tampered)).isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> verifiedTokenCache.getClaims(tampered)).isInstanceOf(JwtException.class);
+
+        verify(jwtService, times(2)).extractClaims(tampered);
+    }
+}
@@ -1,14 +1,26 @@
 package com.example.enigma.controller;
 
 import com.example.enigma.configuration.JwtService;
+import com.example.enigma.configuration.VerifiedTokenCache;
 import com.example.enigma.exception.ErrorMessage;
+import com.example.enigma.exception.task.InvalidCursorException;
+import com.example.enigma.exception.task.TaskModifiedException;
 import com.example.enigma.exception.task.TaskNotFoundException;
 import com.example.enigma.exception.user.UserNotFoundException;
 import com.example.enigma.model.Action;
+import com.example.enigma.model.BulkDeleteResponse;
+import com.example.enigma.model.BulkItemStatus;
 import com.example.enigma.model.SortDirection;
+import com.example.enigma.model.Tagged;
 import com.example.enigma.model.TaskStatus;
 import com.example.enigma.model.entity.Task;
 import com.example.enigma.model.entity.User;
+import com.example.enigma.model.task_dto.TaskBulkCreateRequest;
+import com.example.enigma.model.task_dto.TaskBulkItemResult;
+import com.example.enigma.model.task_dto.TaskBulkStatusRequest;
+import com.example.enigma.model.task_dto.TaskBulkStatusResponse;
+import com.example.enigma.model.task_dto.TaskCursor;
+import com.example.enigma.model.task_dto.TaskCursorPage;
 import com.example.enigma.model.task_dto.TaskDto;
 import com.example.enigma.model.task_dto.TaskWithoutIdDto;
 import com.example.enigma.model.task_dto.TaskWithoutUserDto;
@@ -17,7 +29,9 @@ import com.example.enigma.model.user_dto.UserTaskActionRequest;
 import com.example.enigma.model.user_dto.UserWithoutTaskDto;
 import com.example.enigma.model.user_dto.mapper.UserDtoMapper;
 import com.example.enigma.sample.TaskUserSampleData;
+import com.example.enigma.service.EntityTagService;
 import com.example.enigma.service.TaskService;
+import com.example.enigma.service.TokenRevocationService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -28,21 +42,29 @@ import org.skyscreamer.jsonassert.JSONCompareMode;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
 import static org.mockito.BDDMockito.willDoNothing;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(TaskController.class)
@@ -57,9 +79,18 @@ class TaskControllerTest {
     @MockBean
     private JwtService jwtService;
 
+    @MockBean
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @MockBean
+    private TokenRevocationService tokenRevocationService;
+
     @MockBean
     private TaskService taskService;
 
+    @MockBean
+    private EntityTagService entityTagService;
+
     private List<Task> tasks;
     private List<User> users;
 
@@ -332,6 +363,74 @@ class TaskControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("Tests for streamBasicTasks API")
+    class StreamBasicTasks {
+        @Test
+        @WithMockUser(username = "user", authorities = {"GUEST"})
+        void streamBasicTasks_ShouldWriteOneJsonLinePerTask() throws Exception {
+            List<TaskWithoutUserDto> expectedResult = TaskDtoMapper.mapToTaskWithoutUserDtos(tasks.subList(0, 3));
+            willAnswer(invocation -> {
+                Consumer<TaskWithoutUserDto> consumer = invocation.getArgument(4);
+                expectedResult.forEach(consumer);
+                return null;
+            }).given(taskService).streamAllBasic(eq(2L), eq(TaskStatus.DONE), eq(false), eq(SortDirection.ASC), any());
+            MvcResult asyncResult = mockMvc.perform(
+                            get("/api/tasks/basic")
+                                    .param("stream", "true")
+                                    .param("user_id", "2")
+                                    .param("status", "DONE")
+                                    .accept(MediaType.APPLICATION_NDJSON))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            MockHttpServletResponse response = mockMvc.perform(asyncDispatch(asyncResult)).andReturn().getResponse();
+            StringBuilder expectedBody = new StringBuilder();
+            for (TaskWithoutUserDto task : expectedResult) {
+                expectedBody.append(objectMapper.writeValueAsString(task)).append('\n');
+            }
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+            assertThat(response.getContentType()).isEqualTo(MediaType.APPLICATION_NDJSON_VALUE);
+            assertThat(response.getContentAsString()).isEqualTo(expectedBody.toString());
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests for cursor pagination API")
+    class GetTasksByCursor {
+        @Test
+        @WithMockUser(username = "user", authorities = {"GUEST"})
+        void getDetailedTasksByCursor_ShouldReturnPageWithNextCursor() throws Exception {
+            String nextCursor = TaskCursor.of(2L, null, false).encode();
+            TaskCursorPage<TaskDto> expectedResult = new TaskCursorPage<>(TaskDtoMapper.mapToTaskDtos(tasks.subList(0, 2)), nextCursor);
+            given(taskService.findAllDetailedByCursor(null, null, "", false, SortDirection.ASC)).willReturn(expectedResult);
+            MockHttpServletResponse response = mockMvc.perform(
+                            get("/api/tasks/detailed")
+                                    .param("cursor", "")
+                                    .accept(MediaType.APPLICATION_JSON))
+                    .andReturn().getResponse();
+            String expectedJson = objectMapper.writeValueAsString(expectedResult);
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+            JSONAssert.assertEquals(expectedJson, response.getContentAsString(), JSONCompareMode.LENIENT);
+            assertThat(response.getContentAsString()).contains("\"next_cursor\":\"" + nextCursor + "\"");
+        }
+
+        @Test
+        @WithMockUser(username = "user", authorities = {"GUEST"})
+        void getUnsignedTasksByCursor_ShouldReturnBadRequest_WhenCursorIsInvalid() throws Exception {
+            String cursor = "not-a-cursor";
+            given(taskService.findUnsignedByCursor(cursor, true, SortDirection.ASC))
+                    .willThrow(new InvalidCursorException(String.format(ErrorMessage.INVALID_CURSOR, cursor)));
+            MockHttpServletResponse response = mockMvc.perform(
+                            get("/api/tasks/unsigned")
+                                    .param("cursor", cursor)
+                                    .param("sort", "true")
+                                    .accept(MediaType.APPLICATION_JSON))
+                    .andReturn().getResponse();
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+            assertThat(response.getContentAsString()).contains(String.format(ErrorMessage.INVALID_CURSOR, cursor));
+        }
+    }
+
     @Nested
     @DisplayName("Tests for getTaskById API")
     class GetTaskById {
@@ -345,7 +444,7 @@ class TaskControllerTest {
                             .filter(t -> t.getId().equals(taskId))
                             .findFirst()
                             .orElseThrow(() -> new TaskNotFoundException(String.format(ErrorMessage.TASK_NOT_FOUND_BY_ID, taskId))));
-            given(taskService.findTaskById(taskId)).willReturn(task);
+            given(taskService.findTaskById(taskId)).willReturn(new Tagged<>("task-0-4-0", task));
             MockHttpServletResponse response = mockMvc.perform(
                             get("/api/tasks/{id}", taskId)
                                     .contentType(MediaType.APPLICATION_JSON))
@@ -356,6 +455,32 @@ class TaskControllerTest {
             assertThat(response.getContentAsString()).isEqualTo(expectedJson);
         }
 
+        @Test
+        @WithMockUser(username = "user", authorities = {"GUEST"})
+        void getTaskById_ShouldReturnETag() throws Exception {
+            Long taskId = 1L;
+            given(taskService.findTaskById(taskId)).willReturn(new Tagged<>("task-3-1-0", TaskDtoMapper.mapToTaskDto(tasks.getFirst())));
+            MockHttpServletResponse response = mockMvc.perform(get("/api/tasks/{id}", taskId))
+                    .andReturn().getResponse();
+
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+            assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("\"task-3-1-0\"");
+        }
+
+        @Test
+        @WithMockUser(username = "user", authorities = {"GUEST"})
+        void getTaskById_ShouldReturnNotModified_WhenETagMatches() throws Exception {
+            Long taskId = 1L;
+            given(taskService.findTaskById(taskId)).willReturn(new Tagged<>("task-3-1-0", TaskDtoMapper.mapToTaskDto(tasks.getFirst())));
+            MockHttpServletResponse response = mockMvc.perform(
+                            get("/api/tasks/{id}", taskId)
+                                    .header(HttpHeaders.IF_NONE_MATCH, "\"task-3-1-0\""))
+                    .andReturn().getResponse();
+
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+            assertThat(response.getContentAsString()).isEmpty();
+        }
+
         @Test
         @WithMockUser(username = "user", authorities = {"GUEST"})
         void getTaskById_InvalidId_ShouldReturnNotFound() throws Exception {
@@ -505,6 +630,118 @@ class TaskControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("Tests for createTasks bulk API")
+    class CreateTasks {
+        @Test
+        @WithMockUser(roles = {"USER", "ADMIN"})
+        void createTasks_ShouldReturnPerItemResults() throws Exception {
+            TaskWithoutIdDto newTask = new TaskWithoutIdDto("New Task", "This is new task", TaskStatus.TO_DO,
+                    LocalDate.now().plusDays(1), List.of(1L));
+            TaskWithoutIdDto existingTask = new TaskWithoutIdDto(tasks.getFirst().getTitle(), "This is old task", TaskStatus.TO_DO,
+                    LocalDate.now().plusDays(1), List.of());
+            List<TaskBulkItemResult> expectedResult = List.of(
+                    new TaskBulkItemResult(0, newTask.title(), 11L, BulkItemStatus.CREATED, null),
+                    new TaskBulkItemResult(1, existingTask.title(), null, BulkItemStatus.TITLE_ALREADY_EXISTS,
+                            String.format(ErrorMessage.TITLE_ALREADY_EXISTS_WITH_TITLE, existingTask.title())));
+            given(taskService.createAll(List.of(newTask, existingTask))).willReturn(expectedResult);
+
+            MockHttpServletResponse response = mockMvc.perform(
+                            post("/api/tasks/bulk")
+                                    .with(csrf())
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(objectMapper.writeValueAsString(new TaskBulkCreateRequest(List.of(newTask, existingTask)))))
+                    .andReturn().getResponse();
+
+            String expectedJson = objectMapper.writeValueAsString(expectedResult);
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+            assertThat(response.getContentAsString()).isEqualTo(expectedJson);
+        }
+
+        @Test
+        @WithMockUser(roles = {"USER", "ADMIN"})
+        void createTasks_ShouldReturnBadRequest_WhenAnyTaskIsInvalid() throws Exception {
+            TaskWithoutIdDto invalidTask = new TaskWithoutIdDto("", "", TaskStatus.TO_DO,
+                    LocalDate.now().minusDays(1), List.of());
+
+            MockHttpServletResponse response = mockMvc.perform(
+                            post("/api/tasks/bulk")
+                                    .with(csrf())
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(objectMapper.writeValueAsString(new TaskBulkCreateRequest(List.of(invalidTask)))))
+                    .andReturn().getResponse();
+
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+        }
+
+        @Test
+        @WithMockUser(username = "user", authorities = {"GUEST"})
+        void createTasks_ShouldReturnForbidden_WhenUserNotAuthenticated() throws Exception {
+            TaskWithoutIdDto newTask = new TaskWithoutIdDto("New Task", "This is new task", TaskStatus.TO_DO,
+                    LocalDate.now().plusDays(1), List.of());
+
+            MockHttpServletResponse response = mockMvc.perform(
+                            post("/api/tasks/bulk")
+                                    .with(csrf())
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(objectMapper.writeValueAsString(new TaskBulkCreateRequest(List.of(newTask)))))
+                    .andReturn().getResponse();
+
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.FORBIDDEN.value());
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests for changeTasksStatus bulk API")
+    class ChangeTasksStatus {
+        @Test
+        @WithMockUser(roles = "ADMIN")
+        void changeTasksStatus_ShouldReturnAffectedCount() throws Exception {
+            TaskBulkStatusRequest request = new TaskBulkStatusRequest(TaskStatus.DONE, null, 2L, TaskStatus.TO_DO);
+            given(taskService.changeStatusInBulk(request)).willReturn(new TaskBulkStatusResponse(4));
+
+            MockHttpServletResponse response = mockMvc.perform(
+                            patch("/api/tasks/status")
+                                    .with(csrf())
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(objectMapper.writeValueAsString(request)))
+                    .andReturn().getResponse();
+
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+            assertThat(response.getContentAsString()).isEqualTo("{\"affected\":4}");
+        }
+
+        @Test
+        @WithMockUser(roles = "ADMIN")
+        void changeTasksStatus_ShouldReturnBadRequest_WhenIdsAndFilterAreBothGiven() throws Exception {
+            TaskBulkStatusRequest request = new TaskBulkStatusRequest(TaskStatus.DONE, List.of(1L), 2L, null);
+
+            MockHttpServletResponse response = mockMvc.perform(
+                            patch("/api/tasks/status")
+                                    .with(csrf())
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(objectMapper.writeValueAsString(request)))
+                    .andReturn().getResponse();
+
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+        }
+
+        @Test
+        @WithMockUser(roles = "ADMIN")
+        void changeTasksStatus_ShouldReturnBadRequest_WhenNoSelectionIsGiven() throws Exception {
+            TaskBulkStatusRequest request = new TaskBulkStatusRequest(TaskStatus.DONE, List.of(), null, null);
+
+            MockHttpServletResponse response = mockMvc.perform(
+                            patch("/api/tasks/status")
+                                    .with(csrf())
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(objectMapper.writeValueAsString(request)))
+                    .andReturn().getResponse();
+
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+        }
+    }
+
     @Nested
     @DisplayName("Tests for updateTask API")
     class UpdateTask {
@@ -526,7 +763,7 @@ class TaskControllerTest {
             TaskWithoutIdDto taskWithoutIdDto = TaskDtoMapper.mapToTaskWithoutIdDto(task);
             TaskDto expectedResult = TaskDtoMapper.mapToTaskDto(task);
 
-            given(taskService.update(updatedTaskId, taskWithoutIdDto)).willReturn(expectedResult);
+            given(taskService.update(updatedTaskId, taskWithoutIdDto, null)).willReturn(expectedResult);
             MockHttpServletResponse response = mockMvc.perform(
                             put("/api/tasks/{id}", updatedTaskId)
                                     .with(csrf())
@@ -556,7 +793,7 @@ class TaskControllerTest {
             TaskWithoutIdDto taskWithoutIdDto = TaskDtoMapper.mapToTaskWithoutIdDto(task);
             TaskDto expectedResult = TaskDtoMapper.mapToTaskDto(task);
 
-            given(taskService.update(updatedTaskId, taskWithoutIdDto)).willReturn(expectedResult);
+            given(taskService.update(updatedTaskId, taskWithoutIdDto, null)).willReturn(expectedResult);
             MockHttpServletResponse response = mockMvc.perform(
                             put("/api/tasks/{id}", updatedTaskId)
                                     .with(csrf())
@@ -569,6 +806,63 @@ class TaskControllerTest {
             assertThat(response.getContentAsString()).isEqualTo(expectedJson);
         }
 
+        @Test
+        @WithMockUser(roles = {"USER", "ADMIN"})
+        void updateTask_ShouldReturnPreconditionFailed_WhenIfMatchIsStale() throws Exception {
+            Long updatedTaskId = 1L;
+            TaskWithoutIdDto taskWithoutIdDto = TaskDtoMapper.mapToTaskWithoutIdDto(tasks.getFirst());
+            given(taskService.update(updatedTaskId, taskWithoutIdDto, "\"task-0-4-0\""))
+                    .willThrow(new TaskModifiedException(String.format(ErrorMessage.TASK_MODIFIED, updatedTaskId)));
+            MockHttpServletResponse response = mockMvc.perform(
+                            put("/api/tasks/{id}", updatedTaskId)
+                                    .with(csrf())
+                                    .header(HttpHeaders.IF_MATCH, "\"task-0-4-0\"")
+                                    .content(objectMapper.writeValueAsString(taskWithoutIdDto))
+                                    .contentType(MediaType.APPLICATION_JSON))
+                    .andReturn().getResponse();
+
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.PRECONDITION_FAILED.value());
+            assertThat(response.getContentAsString()).contains(String.format(ErrorMessage.TASK_MODIFIED, updatedTaskId));
+        }
+
+        @Test
+        @WithMockUser(roles = {"USER", "ADMIN"})
+        void updateTask_ShouldReturnConflict_WhenConcurrentWriterWins() throws Exception {
+            Long updatedTaskId = 1L;
+            TaskWithoutIdDto taskWithoutIdDto = TaskDtoMapper.mapToTaskWithoutIdDto(tasks.getFirst());
+            given(taskService.update(updatedTaskId, taskWithoutIdDto, null))
+                    .willThrow(new ObjectOptimisticLockingFailureException(Task.class, updatedTaskId));
+            MockHttpServletResponse response = mockMvc.perform(
+                            put("/api/tasks/{id}", updatedTaskId)
+                                    .with(csrf())
+                                    .content(objectMapper.writeValueAsString(taskWithoutIdDto))
+                                    .contentType(MediaType.APPLICATION_JSON))
+                    .andReturn().getResponse();
+
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.CONFLICT.value());
+            assertThat(response.getContentAsString()).contains(ErrorMessage.CONCURRENT_MODIFICATION);
+        }
+
+        @Test
+        @WithMockUser(roles = {"USER", "ADMIN"})
+        void updateTask_ShouldReturnPreconditionFailed_WhenConcurrentWriterWinsAfterIfMatchCheck() throws Exception {
+            Long updatedTaskId = 1L;
+            String eTag = "\"task-0-4-0\"";
+            TaskWithoutIdDto taskWithoutIdDto = TaskDtoMapper.mapToTaskWithoutIdDto(tasks.getFirst());
+            given(taskService.update(updatedTaskId, taskWithoutIdDto, eTag))
+                    .willThrow(new ObjectOptimisticLockingFailureException(Task.class, updatedTaskId));
+            MockHttpServletResponse response = mockMvc.perform(
+                            put("/api/tasks/{id}", updatedTaskId)
+                                    .with(csrf())
+                                    .header(HttpHeaders.IF_MATCH, eTag)
+                                    .content(objectMapper.writeValueAsString(taskWithoutIdDto))
+                                    .contentType(MediaType.APPLICATION_JSON))
+                    .andReturn().getResponse();
+
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.PRECONDITION_FAILED.value());
+            assertThat(response.getContentAsString()).contains(String.format(ErrorMessage.TASK_MODIFIED, updatedTaskId));
+        }
+
         @Test
         @WithMockUser(roles = {"USER", "ADMIN"})
         void updateTaskWithoutUsers_TaskNotFound_ShouldReturnNotFoundStatus() throws Exception {
@@ -584,7 +878,7 @@ class TaskControllerTest {
             task.setDeadline(LocalDate.now().plusDays(10));
 
             TaskWithoutIdDto taskWithoutIdDto = TaskDtoMapper.mapToTaskWithoutIdDto(task);
-            given(taskService.update(updatedTaskId, taskWithoutIdDto)).willThrow(new TaskNotFoundException(String.format(ErrorMessage.TASK_NOT_FOUND_BY_ID, updatedTaskId)));
+            given(taskService.update(updatedTaskId, taskWithoutIdDto, null)).willThrow(new TaskNotFoundException(String.format(ErrorMessage.TASK_NOT_FOUND_BY_ID, updatedTaskId)));
             MockHttpServletResponse response = mockMvc.perform(
                             put("/api/tasks/{id}", updatedTaskId)
                                     .with(csrf())
@@ -631,7 +925,7 @@ class TaskControllerTest {
             task.setTaskStatus(newStatus);
             TaskDto expectedResult = TaskDtoMapper.mapToTaskDto(task);
 
-            given(taskService.changeStatus(updatedTaskId, newStatus)).willReturn(expectedResult);
+            given(taskService.changeStatus(updatedTaskId, newStatus, null)).willReturn(expectedResult);
             MockHttpServletResponse response = mockMvc.perform(
                             patch("/api/tasks/{id}/status", updatedTaskId)
                                     .with(csrf())
@@ -650,7 +944,7 @@ class TaskControllerTest {
             Long updatedTaskId = 123L;
             TaskStatus newStatus = TaskStatus.IN_PROGRESS;
 
-            given(taskService.changeStatus(updatedTaskId, newStatus)).willThrow(new TaskNotFoundException(String.format(ErrorMessage.TASK_NOT_FOUND_BY_ID, updatedTaskId)));
+            given(taskService.changeStatus(updatedTaskId, newStatus, null)).willThrow(new TaskNotFoundException(String.format(ErrorMessage.TASK_NOT_FOUND_BY_ID, updatedTaskId)));
             MockHttpServletResponse response = mockMvc.perform(
                             patch("/api/tasks/{id}/status", updatedTaskId)
                                     .with(csrf())
@@ -663,6 +957,26 @@ class TaskControllerTest {
             assertThat(response.getContentAsString()).contains(expectedErrorMessage);
         }
 
+        @Test
+        @WithMockUser(roles = {"USER", "ADMIN"})
+        void changeTaskStatus_ShouldReturnPreconditionFailed_WhenConcurrentWriterWinsAfterIfMatchCheck() throws Exception {
+            Long updatedTaskId = 1L;
+            String eTag = "\"task-0-4-0\"";
+            TaskStatus newStatus = TaskStatus.DONE;
+            given(taskService.changeStatus(updatedTaskId, newStatus, eTag))
+                    .willThrow(new ObjectOptimisticLockingFailureException(Task.class, updatedTaskId));
+            MockHttpServletResponse response = mockMvc.perform(
+                            patch("/api/tasks/{id}/status", updatedTaskId)
+                                    .with(csrf())
+                                    .header(HttpHeaders.IF_MATCH, eTag)
+                                    .content(objectMapper.writeValueAsString(newStatus))
+                                    .contentType(MediaType.APPLICATION_JSON))
+                    .andReturn().getResponse();
+
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.PRECONDITION_FAILED.value());
+            assertThat(response.getContentAsString()).contains(String.format(ErrorMessage.TASK_MODIFIED, updatedTaskId));
+        }
+
         @Test
         @WithMockUser(username = "user", authorities = {"GUEST"})
         void changeTaskStatus_ShouldReturnForbidden_WhenUserNotAuthenticated() throws Exception {
@@ -694,7 +1008,7 @@ class TaskControllerTest {
                     .orElseThrow(() -> new UserNotFoundException(String.format(ErrorMessage.USER_NOT_FOUND_BY_ID, attachedUserId))));
             TaskDto expectedResult = TaskDtoMapper.mapToTaskDto(task);
 
-            given(taskService.modifyUserAssignmentToTask(updatedTaskId, userTaskActionRequest)).willReturn(expectedResult);
+            given(taskService.modifyUserAssignmentToTask(updatedTaskId, userTaskActionRequest, null)).willReturn(expectedResult);
             MockHttpServletResponse response = mockMvc.perform(
                             patch("/api/tasks/{id}/users", updatedTaskId)
                                     .with(csrf())
@@ -724,7 +1038,7 @@ class TaskControllerTest {
                     .orElseThrow(() -> new UserNotFoundException(String.format(ErrorMessage.USER_NOT_FOUND_BY_ID, attachedUserId))));
             TaskDto expectedResult = TaskDtoMapper.mapToTaskDto(task);
 
-            given(taskService.modifyUserAssignmentToTask(updatedTaskId, userTaskActionRequest)).willReturn(expectedResult);
+            given(taskService.modifyUserAssignmentToTask(updatedTaskId, userTaskActionRequest, null)).willReturn(expectedResult);
             MockHttpServletResponse response = mockMvc.perform(
                             patch("/api/tasks/{id}/users", updatedTaskId)
                                     .with(csrf())
@@ -772,5 +1086,27 @@ class TaskControllerTest {
             mockMvc.perform(delete("/api/tasks/1"))
                     .andExpect(status().isForbidden());
         }
+
+        @Test
+        @WithMockUser(roles = {"USER", "ADMIN"})
+        void removeTasks_ShouldReturnDeletedCount() throws Exception {
+            given(taskService.deleteAll(List.of(1L, 2L, 3L))).willReturn(new BulkDeleteResponse(3));
+            MockHttpServletResponse response = mockMvc.perform(
+                            delete("/api/tasks")
+                                    .param("ids", "1,2,3")
+                                    .with(csrf()))
+                    .andReturn().getResponse();
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+            assertThat(response.getContentAsString()).isEqualTo(objectMapper.writeValueAsString(new BulkDeleteResponse(3)));
+        }
+
+        @Test
+        @WithMockUser(username = "user", authorities = {"GUEST"})
+        void removeTasks_ShouldReturnForbidden_WhenUserNotAuthenticated() throws Exception {
+            mockMvc.perform(delete("/api/tasks")
+                            .param("ids", "1,2")
+                            .with(csrf()))
+                    .andExpect(status().isForbidden());
+        }
     }
 }
\ No newline at end of file
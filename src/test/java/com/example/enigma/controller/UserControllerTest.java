@@ -1,7 +1,10 @@
 package com.example.enigma.controller;
 
 import com.example.enigma.configuration.JwtService;
+import com.example.enigma.configuration.VerifiedTokenCache;
 import com.example.enigma.exception.user.UserNotFoundException;
+import com.example.enigma.model.BulkDeleteResponse;
+import com.example.enigma.model.Tagged;
 import com.example.enigma.model.entity.Task;
 import com.example.enigma.model.entity.User;
 import com.example.enigma.model.user_dto.UserDto;
@@ -11,6 +14,8 @@ import com.example.enigma.model.user_dto.UserWithoutTaskDto;
 import com.example.enigma.model.user_dto.mapper.AdminPasswordUpdateDto;
 import com.example.enigma.model.user_dto.mapper.UserDtoMapper;
 import com.example.enigma.sample.TaskUserSampleData;
+import com.example.enigma.service.TokenRevocationService;
+import com.example.enigma.service.EntityTagService;
 import com.example.enigma.service.UserService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -22,6 +27,7 @@ import org.skyscreamer.jsonassert.JSONCompareMode;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockHttpServletResponse;
@@ -30,17 +36,22 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willAnswer;
 import static org.mockito.BDDMockito.willDoNothing;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 
@@ -54,9 +65,18 @@ class UserControllerTest {
     @MockBean
     private JwtService jwtService;
 
+    @MockBean
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @MockBean
+    private TokenRevocationService tokenRevocationService;
+
     @MockBean
     private UserService userService;
 
+    @MockBean
+    private EntityTagService entityTagService;
+
     private List<Task> tasks;
     private List<User> users;
 
@@ -92,6 +112,19 @@ class UserControllerTest {
             assertThat(response.getContentAsString()).isEqualTo(expectedJson);
         }
 
+        @Test
+        @WithMockUser(username = "user", authorities = {"GUEST"})
+        void getBasicUsers_ShouldReturnNotModified_WhenCollectionETagMatches() throws Exception {
+            given(entityTagService.forCollections(User.class)).willReturn("users-5");
+            MockHttpServletResponse response = mockMvc.perform(
+                            get("/api/users/basic")
+                                    .header(HttpHeaders.IF_NONE_MATCH, "\"users-5\""))
+                    .andReturn().getResponse();
+
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+            then(userService).shouldHaveNoInteractions();
+        }
+
         @Test
         @WithMockUser(username = "user", authorities = {"GUEST"})
         void getBasicUsers_ShouldReturnFilteredUsers_WhenFiltersProvided() throws Exception {
@@ -106,6 +139,36 @@ class UserControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("Tests for streamBasicUsers API")
+    class StreamBasicUsers {
+        @Test
+        @WithMockUser(username = "user", authorities = {"GUEST"})
+        void streamBasicUsers_ShouldWriteOneJsonLinePerUser() throws Exception {
+            List<UserWithoutTaskDto> expectedResult = UserDtoMapper.mapToUserWithoutTaskDtos(users);
+            willAnswer(invocation -> {
+                Consumer<UserWithoutTaskDto> consumer = invocation.getArgument(2);
+                expectedResult.forEach(consumer);
+                return null;
+            }).given(userService).streamAllBasic(eq("miriam"), eq(null), any());
+            MvcResult asyncResult = mockMvc.perform(
+                            get("/api/users/basic")
+                                    .param("stream", "true")
+                                    .param("firstName", "miriam")
+                                    .accept(MediaType.APPLICATION_NDJSON))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            MockHttpServletResponse response = mockMvc.perform(asyncDispatch(asyncResult)).andReturn().getResponse();
+            StringBuilder expectedBody = new StringBuilder();
+            for (UserWithoutTaskDto user : expectedResult) {
+                expectedBody.append(objectMapper.writeValueAsString(user)).append('\n');
+            }
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+            assertThat(response.getContentType()).isEqualTo(MediaType.APPLICATION_NDJSON_VALUE);
+            assertThat(response.getContentAsString()).isEqualTo(expectedBody.toString());
+        }
+    }
+
     @Nested
     @DisplayName("Tests for getBasicUsers API")
     class GetBasicUsers {
@@ -152,7 +215,7 @@ class UserControllerTest {
             User user = users.getFirst();
             Long userId = user.getId();
             UserDto expectedResult = UserDtoMapper.mapToUserDto(user);
-            given(userService.findUserById(userId)).willReturn(expectedResult);
+            given(userService.findUserById(userId)).willReturn(new Tagged<>("user-0-0-0", expectedResult));
             MockHttpServletResponse response = mockMvc.perform(
                             get("/api/users/{id}", userId)
                                     .contentType(MediaType.APPLICATION_JSON))
@@ -163,6 +226,19 @@ class UserControllerTest {
             assertThat(response.getContentAsString()).isEqualTo(expectedJson);
         }
 
+        @Test
+        @WithMockUser(username = "user", authorities = {"GUEST"})
+        void getUser_ShouldReturnNotModified_WhenETagMatches() throws Exception {
+            given(userService.findUserById(1L)).willReturn(new Tagged<>("user-2-3-5", UserDtoMapper.mapToUserDto(users.getFirst())));
+            MockHttpServletResponse response = mockMvc.perform(
+                            get("/api/users/{id}", 1L)
+                                    .header(HttpHeaders.IF_NONE_MATCH, "\"user-2-3-5\""))
+                    .andReturn().getResponse();
+
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+            assertThat(response.getContentAsString()).isEmpty();
+        }
+
         @Test
         @WithMockUser(username = "user", authorities = {"GUEST"})
         void getUser_ShouldReturnNotFound_WhenIdDoesNotExist() throws Exception {
@@ -358,5 +434,27 @@ class UserControllerTest {
                             .with(csrf()))
                     .andExpect(status().isForbidden());
         }
+
+        @Test
+        @WithMockUser(roles = "ADMIN")
+        void removeUsers_ShouldReturnDeletedCount() throws Exception {
+            given(userService.deleteAll(List.of(4L, 5L))).willReturn(new BulkDeleteResponse(2));
+            MockHttpServletResponse response = mockMvc.perform(
+                            delete("/api/users")
+                                    .param("ids", "4,5")
+                                    .with(csrf()))
+                    .andReturn().getResponse();
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+            assertThat(response.getContentAsString()).isEqualTo(objectMapper.writeValueAsString(new BulkDeleteResponse(2)));
+        }
+
+        @Test
+        @WithMockUser(roles = "USER")
+        void removeUsers_ShouldReturnForbidden_WhenNotAdmin() throws Exception {
+            mockMvc.perform(delete("/api/users")
+                            .param("ids", "4,5")
+                            .with(csrf()))
+                    .andExpect(status().isForbidden());
+        }
     }
 }
\ No newline at end of file
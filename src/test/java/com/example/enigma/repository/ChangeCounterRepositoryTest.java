@@ -0,0 +1,52 @@
+package com.example.enigma.repository;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(ChangeCounterRepository.class)
+class ChangeCounterRepositoryTest {
+
+    @Autowired
+    private ChangeCounterRepository changeCounterRepository;
+
+    @Test
+    void shouldIncrementOnlyTheGivenCounterTest() {
+        Map<String, Long> before = changeCounterRepository.findVersions(List.of("tasks", "users"));
+
+        changeCounterRepository.increment("tasks");
+
+        Assertions.assertThat(changeCounterRepository.findVersions(List.of("tasks", "users")))
+                .containsEntry("tasks", before.get("tasks") + 1)
+                .containsEntry("users", before.get("users"));
+    }
+
+    @Test
+    void shouldSumIncrementsAcrossStripesTest() {
+        Long before = changeCounterRepository.findVersions(List.of("tasks")).get("tasks");
+        int increments = ChangeCounterRepository.STRIPES * 4;
+
+        for (int i = 0; i < increments; i++) {
+            changeCounterRepository.increment("tasks");
+        }
+
+        Assertions.assertThat(changeCounterRepository.findVersions(List.of("tasks")))
+                .containsEntry("tasks", before + increments);
+    }
+
+    @Test
+    void shouldReturnOnlyRequestedCountersTest() {
+        Assertions.assertThat(changeCounterRepository.findVersions(List.of("users")))
+                .containsOnlyKeys("users");
+    }
+}
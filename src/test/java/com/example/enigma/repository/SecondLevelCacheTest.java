@@ -0,0 +1,118 @@
+package com.example.enigma.repository;
+
+import com.example.enigma.model.entity.Task;
+import com.example.enigma.model.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.region.factory_class=jcache",
+        "spring.jpa.properties.hibernate.javax.cache.provider=com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider",
+        "spring.jpa.properties.hibernate.javax.cache.missing_cache_strategy=fail",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(UserTaskRepository.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+    private static final Long TASK_ID = 1L;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserTaskRepository userTaskRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void shouldServeTaskUsersFromTheCollectionCache() {
+        Set<Long> loaded = loadTaskUserIds();
+        Set<Long> cached = loadTaskUserIds();
+
+        assertThat(cached).isEqualTo(loaded);
+        assertThat(statistics.getCollectionStatistics(Task.class.getName() + ".users").getCacheHitCount()).isPositive();
+        assertThat(statistics.getDomainDataRegionStatistics("tasks").getHitCount()).isPositive();
+    }
+
+    @Test
+    void shouldSeeJdbcInsertOnNextLoadOfCachedTaskUsers() {
+        Set<Long> before = loadTaskUserIds();
+        Long userId = LongStream.rangeClosed(1, 6)
+                .boxed()
+                .filter(id -> !before.contains(id))
+                .findFirst()
+                .orElseThrow();
+        List<UserTaskLink> links = List.of(new UserTaskLink(userId, TASK_ID));
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> userTaskRepository.insertAll(links));
+
+            assertThat(loadTaskUserIds()).containsAll(before).contains(userId);
+        } finally {
+            transactionTemplate.executeWithoutResult(status -> userTaskRepository.deleteAll(links));
+        }
+    }
+
+    @Test
+    void shouldSeeJdbcDeleteOnNextLoadOfCachedTaskUsers() {
+        Set<Long> before = loadTaskUserIds();
+        assertThat(before).isNotEmpty();
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> userTaskRepository.deleteByTaskIds(List.of(TASK_ID)));
+
+            assertThat(loadTaskUserIds()).isEmpty();
+        } finally {
+            transactionTemplate.executeWithoutResult(status -> userTaskRepository.insertAll(before.stream()
+                    .map(userId -> new UserTaskLink(userId, TASK_ID))
+                    .toList()));
+        }
+    }
+
+    private Set<Long> loadTaskUserIds() {
+        return transactionTemplate.execute(status -> taskRepository.findById(TASK_ID)
+                .orElseThrow()
+                .getUsers()
+                .stream()
+                .map(User::getId)
+                .collect(Collectors.toSet()));
+    }
+}
@@ -6,11 +6,15 @@ import com.example.enigma.exception.ErrorMessage;
 import com.example.enigma.exception.task.TaskNotFoundException;
 import com.example.enigma.model.TaskStatus;
 import com.example.enigma.model.entity.User;
+import com.example.enigma.model.task_dto.TaskWithoutUserDto;
+import jakarta.persistence.EntityManager;
 import org.assertj.core.api.Assertions;
+import org.hibernate.Session;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -18,12 +22,15 @@ import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.example.enigma.repository.SqlStatementRecorder")
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
 @ActiveProfiles("test")
+@Import(UserTaskRepository.class)
 class TaskRepositoryTest {
 
     @Autowired
@@ -32,6 +39,12 @@ class TaskRepositoryTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserTaskRepository userTaskRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
     @Test
     void shouldCreateTaskTest() {
         Task task = Task.builder()
@@ -99,7 +112,7 @@ class TaskRepositoryTest {
     @Test
     void shouldFindTasksForSpecificUserAndStatusDone() {
         Pageable pageRequest = PageRequest.of(0, 10, Sort.by("id"));
-        List<Task> tasks = taskRepository.findByOptionalUserAndStatusTaskWithUser(2L, TaskStatus.DONE, pageRequest);
+        List<Task> tasks = taskRepository.findPageByOptionalUserAndStatusTaskWithUser(2L, TaskStatus.DONE, pageRequest);
         Assertions.assertThat(tasks).hasSize(2);
         Assertions.assertThat(tasks.stream().map(Task::getTitle).toList()).isEqualTo(List.of("title_3", "title_9"));
     }
@@ -107,7 +120,7 @@ class TaskRepositoryTest {
     @Test
     void shouldFindTasksForSpecificUserRegardlessOfStatus() {
         Pageable pageRequest = PageRequest.of(0, 10, Sort.by("id"));
-        List<Task> tasks = taskRepository.findByOptionalUserAndStatusTaskWithUser(2L, null, pageRequest);
+        List<Task> tasks = taskRepository.findPageByOptionalUserAndStatusTaskWithUser(2L, null, pageRequest);
         Assertions.assertThat(tasks).hasSize(8);
         Assertions.assertThat(tasks.stream().map(Task::getTitle)).contains("title_1", "title_2", "title_3", "title_4", "title_6",
                 "title_8", "title_9", "title_11");
@@ -116,39 +129,64 @@ class TaskRepositoryTest {
     @Test
     void shouldFindAllTasksRegardlessOfUserAndStatus() {
         Pageable pageRequest = PageRequest.of(0, 10, Sort.by("id"));
-        List<Task> tasks = taskRepository.findByOptionalUserAndStatusTaskWithUser(null, null, pageRequest);
+        List<Task> tasks = taskRepository.findPageByOptionalUserAndStatusTaskWithUser(null, null, pageRequest);
         Assertions.assertThat(tasks).hasSize(10);
     }
 
+    @Test
+    void shouldPageTaskIdsInDatabaseBeforeFetchingUsers() {
+        Pageable pageRequest = PageRequest.of(1, 3, Sort.by("id"));
+        SqlStatementRecorder.clear();
+        List<Task> tasks = taskRepository.findPageByOptionalUserAndStatusTaskWithUser(null, null, pageRequest);
+        List<String> statements = SqlStatementRecorder.statements().stream()
+                .map(String::toLowerCase)
+                .toList();
+
+        Assertions.assertThat(tasks.stream().map(Task::getTitle).toList()).containsExactly("title_4", "title_5", "title_6");
+        Assertions.assertThat(tasks.stream().filter(task -> task.getTitle().equals("title_4")).findFirst().orElseThrow().getUsers()).hasSize(5);
+        Assertions.assertThat(statements)
+                .filteredOn(sql -> !sql.contains(" left join "))
+                .anySatisfy(sql -> Assertions.assertThat(sql).contains("offset").containsAnyOf("limit", "fetch first"));
+        Assertions.assertThat(statements)
+                .filteredOn(sql -> sql.contains(" left join "))
+                .isNotEmpty()
+                .allSatisfy(sql -> Assertions.assertThat(sql).doesNotContain("offset", "fetch first", "limit"));
+    }
+
+    @Test
+    void shouldReturnEmptyListWhenTaskIdPageIsEmpty() {
+        Pageable pageRequest = PageRequest.of(100, 10, Sort.by("id"));
+        List<Task> tasks = taskRepository.findPageByOptionalUserAndStatusTaskWithUser(null, null, pageRequest);
+        Assertions.assertThat(tasks).isEmpty();
+    }
+
     @Test
     void shouldFindTasksForSpecificUserAndStatusDoneWithoutUserJoin() {
-        Pageable pageRequest = PageRequest.of(0, 10, Sort.by("id"));
-        List<Task> tasks = taskRepository.findByOptionalUserAndStatusTask(2L, TaskStatus.DONE, pageRequest);
+        List<TaskWithoutUserDto> tasks = taskRepository.findBasicByOptionalUserAndStatus(2L, TaskStatus.DONE, Sort.by("id"));
         Assertions.assertThat(tasks).hasSize(2);
-        Assertions.assertThat(tasks.stream().map(Task::getTitle).toList()).isEqualTo(List.of("title_3", "title_9"));
+        Assertions.assertThat(tasks.stream().map(TaskWithoutUserDto::title).toList()).isEqualTo(List.of("title_3", "title_9"));
     }
 
     @Test
     void shouldFindTasksForSpecificUserRegardlessOfStatusWithoutUserJoin() {
-        Pageable pageRequest = PageRequest.of(0, 10, Sort.by("id"));
-        List<Task> tasks = taskRepository.findByOptionalUserAndStatusTask(2L, null, pageRequest);
+        List<TaskWithoutUserDto> tasks = taskRepository.findBasicByOptionalUserAndStatus(2L, null, Sort.by("id"));
         Assertions.assertThat(tasks).hasSize(8);
-        Assertions.assertThat(tasks.stream().map(Task::getTitle)).contains("title_1", "title_2", "title_3", "title_4", "title_6",
+        Assertions.assertThat(tasks.stream().map(TaskWithoutUserDto::title)).contains("title_1", "title_2", "title_3", "title_4", "title_6",
                 "title_8", "title_9", "title_11");
     }
 
     @Test
     void shouldFindAllTasksRegardlessOfUserAndStatusWithoutUserJoin() {
         Pageable pageRequest = PageRequest.of(1, 10, Sort.by("id"));
-        List<Task> tasks = taskRepository.findByOptionalUserAndStatusTask(null, null, pageRequest);
-        Assertions.assertThat(tasks).hasSize(2);
+        List<Long> taskIds = taskRepository.findTaskIdsByOptionalUserAndStatus(null, null, pageRequest);
+        Assertions.assertThat(taskIds).containsExactly(11L, 12L);
     }
 
     @Test
     void shouldReturnEmptyPageWhenNoResultsTest() {
         Pageable pageRequest = PageRequest.of(100, 10);
-        List<Task> tasks = taskRepository.findByOptionalUserAndStatusTask(null, null, pageRequest);
-        Assertions.assertThat(tasks).isEmpty();
+        List<Long> taskIds = taskRepository.findTaskIdsByOptionalUserAndStatus(null, null, pageRequest);
+        Assertions.assertThat(taskIds).isEmpty();
     }
 
     @Test
@@ -162,20 +200,20 @@ class TaskRepositoryTest {
         taskRepository.save(taskWithoutUser);
 
         Pageable pageRequest = PageRequest.of(0, 10);
-        List<Task> unsignedTasks = taskRepository.findUnsignedTasks(pageRequest);
+        List<TaskWithoutUserDto> unsignedTasks = taskRepository.findUnsignedBasic(pageRequest);
 
-        Assertions.assertThat(unsignedTasks).contains(taskWithoutUser);
+        Assertions.assertThat(unsignedTasks.stream().map(TaskWithoutUserDto::id)).contains(taskWithoutUser.getId());
     }
 
     @Test
     void shouldHandleInvalidInputsGracefullyTest() {
         Pageable pageRequest = PageRequest.of(0, 10);
 
-        List<Task> tasks = taskRepository.findByOptionalUserAndStatusTask(null, null, pageRequest);
-        Assertions.assertThat(tasks).isNotNull();
+        List<Long> taskIds = taskRepository.findTaskIdsByOptionalUserAndStatus(null, null, pageRequest);
+        Assertions.assertThat(taskIds).isNotNull();
 
-        List<Task> tasksInvalidUser = taskRepository.findByOptionalUserAndStatusTask(9999L, null, pageRequest);
-        Assertions.assertThat(tasksInvalidUser).isEmpty();
+        List<Long> taskIdsInvalidUser = taskRepository.findTaskIdsByOptionalUserAndStatus(9999L, null, pageRequest);
+        Assertions.assertThat(taskIdsInvalidUser).isEmpty();
     }
 
     @Test
@@ -186,7 +224,7 @@ class TaskRepositoryTest {
                 .taskStatus(null)
                 .deadline(null)
                 .build();
-        Assertions.assertThatThrownBy(() -> taskRepository.save(task))
+        Assertions.assertThatThrownBy(() -> taskRepository.saveAndFlush(task))
                 .isInstanceOf(DataIntegrityViolationException.class);
     }
 
@@ -279,7 +317,7 @@ class TaskRepositoryTest {
                 .deadline(LocalDate.of(2025, 2, 1))
                 .build();
 
-        Assertions.assertThatThrownBy(() -> taskRepository.save(task2))
+        Assertions.assertThatThrownBy(() -> taskRepository.saveAndFlush(task2))
                 .isInstanceOf(DataIntegrityViolationException.class);
     }
 
@@ -310,4 +348,267 @@ class TaskRepositoryTest {
 
         Assertions.assertThat(updatedTask.getUsers()).doesNotContain(user);
     }
+
+    @Test
+    void shouldStreamBasicTasksForSpecificUserAndStatusTest() {
+        try (Stream<TaskWithoutUserDto> tasks = taskRepository.streamBasicByOptionalUserAndStatus(2L, TaskStatus.DONE, Sort.by("id"))) {
+            Assertions.assertThat(tasks.map(TaskWithoutUserDto::title).toList()).isEqualTo(List.of("title_3", "title_9"));
+        }
+    }
+
+    @Test
+    void shouldStreamAllBasicTasksInRequestedSortOrderTest() {
+        try (Stream<TaskWithoutUserDto> tasks = taskRepository.streamBasicByOptionalUserAndStatus(null, TaskStatus.DONE,
+                Sort.by("deadline", "id").ascending())) {
+            Assertions.assertThat(tasks.map(TaskWithoutUserDto::title).toList()).isEqualTo(List.of("title_9", "title_3"));
+        }
+    }
+
+    @Test
+    void shouldFindBasicTasksWithoutLoadingEntitiesTest() {
+        entityManager.clear();
+        List<TaskWithoutUserDto> tasks = taskRepository.findBasicByOptionalUserAndStatus(2L, TaskStatus.DONE, Sort.by("id"));
+        Assertions.assertThat(tasks.stream().map(TaskWithoutUserDto::title).toList()).isEqualTo(List.of("title_3", "title_9"));
+        Assertions.assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    @Test
+    void shouldFindUnsignedBasicTasksWithoutLoadingEntitiesTest() {
+        Task taskWithoutUser = Task.builder()
+                .title("title_no_user")
+                .description("desc_no_user")
+                .taskStatus(TaskStatus.TO_DO)
+                .deadline(LocalDate.of(2024, 1, 1))
+                .build();
+        taskRepository.saveAndFlush(taskWithoutUser);
+        entityManager.clear();
+
+        List<TaskWithoutUserDto> tasks = taskRepository.findUnsignedBasic(PageRequest.of(0, 10, Sort.by("id")));
+        Assertions.assertThat(tasks.stream().map(TaskWithoutUserDto::title).toList()).isEqualTo(List.of("title_12", "title_no_user"));
+        Assertions.assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    @Test
+    void shouldAssignConsecutivePooledIdsAfterSeededTasksTest() {
+        List<Task> tasks = taskRepository.saveAllAndFlush(List.of(
+                Task.builder().title("pooled_1").description("pooled").taskStatus(TaskStatus.TO_DO).deadline(LocalDate.of(2024, 1, 1)).build(),
+                Task.builder().title("pooled_2").description("pooled").taskStatus(TaskStatus.TO_DO).deadline(LocalDate.of(2024, 1, 2)).build(),
+                Task.builder().title("pooled_3").description("pooled").taskStatus(TaskStatus.TO_DO).deadline(LocalDate.of(2024, 1, 3)).build()));
+
+        Assertions.assertThat(tasks.getFirst().getId()).isGreaterThan(12L);
+        Assertions.assertThat(tasks.stream().map(Task::getId).toList())
+                .containsExactly(tasks.getFirst().getId(), tasks.getFirst().getId() + 1, tasks.getFirst().getId() + 2);
+    }
+
+    @Test
+    void shouldWalkTaskIdsByAscendingDeadlineWithoutSkippingOrRepeatingTiesTest() {
+        saveTasksWithSharedDeadline(LocalDate.of(2024, 11, 1), 3);
+        Sort sort = Sort.by("deadline", "id").ascending();
+        List<Long> expected = taskRepository.findTaskIdsByOptionalUserAndStatus(null, TaskStatus.TO_DO, PageRequest.of(0, 100, sort));
+        Pageable pageable = PageRequest.of(0, 2, sort);
+
+        List<Long> walked = new ArrayList<>();
+        List<Long> page = taskRepository.findTaskIdsByOptionalUserAndStatus(null, TaskStatus.TO_DO, pageable);
+        while (!page.isEmpty()) {
+            walked.addAll(page);
+            Task last = taskRepository.findById(page.getLast()).orElseThrow();
+            page = taskRepository.findTaskIdsByOptionalUserAndStatusAfterDeadline(null, TaskStatus.TO_DO, last.getDeadline(), last.getId(), pageable);
+        }
+
+        Assertions.assertThat(walked).doesNotHaveDuplicates().containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void shouldWalkTaskIdsByDescendingDeadlineWithoutSkippingOrRepeatingTiesTest() {
+        saveTasksWithSharedDeadline(LocalDate.of(2024, 11, 1), 3);
+        Sort sort = Sort.by("deadline", "id").descending();
+        List<Long> expected = taskRepository.findTaskIdsByOptionalUserAndStatus(null, null, PageRequest.of(0, 100, sort));
+        Pageable pageable = PageRequest.of(0, 2, sort);
+
+        List<Long> walked = new ArrayList<>();
+        List<Long> page = taskRepository.findTaskIdsByOptionalUserAndStatus(null, null, pageable);
+        while (!page.isEmpty()) {
+            walked.addAll(page);
+            Task last = taskRepository.findById(page.getLast()).orElseThrow();
+            page = taskRepository.findTaskIdsByOptionalUserAndStatusBeforeDeadline(null, null, last.getDeadline(), last.getId(), pageable);
+        }
+
+        Assertions.assertThat(walked).doesNotHaveDuplicates().containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void shouldWalkTaskIdsForUserAfterIdTest() {
+        Pageable pageable = PageRequest.of(0, 3, Sort.by("id"));
+
+        List<Long> walked = new ArrayList<>();
+        List<Long> page = taskRepository.findTaskIdsByOptionalUserAndStatus(2L, null, pageable);
+        while (!page.isEmpty()) {
+            walked.addAll(page);
+            page = taskRepository.findTaskIdsByOptionalUserAndStatusAfterId(2L, null, page.getLast(), pageable);
+        }
+
+        Assertions.assertThat(walked).containsExactly(1L, 2L, 3L, 4L, 6L, 8L, 9L, 11L);
+    }
+
+    @Test
+    void shouldWalkUnsignedTasksByAscendingDeadlineWithoutSkippingOrRepeatingTiesTest() {
+        saveTasksWithSharedDeadline(LocalDate.of(2025, 1, 15), 3);
+        saveTasksWithSharedDeadline(LocalDate.of(2025, 1, 10), 2);
+        Sort sort = Sort.by("deadline", "id").ascending();
+        List<TaskWithoutUserDto> expected = taskRepository.findUnsignedBasic(PageRequest.of(0, 100, sort));
+        Pageable pageable = PageRequest.of(0, 2, sort);
+
+        List<TaskWithoutUserDto> walked = new ArrayList<>();
+        List<TaskWithoutUserDto> page = taskRepository.findUnsignedBasic(pageable);
+        while (!page.isEmpty()) {
+            walked.addAll(page);
+            TaskWithoutUserDto last = page.getLast();
+            page = taskRepository.findUnsignedBasicAfterDeadline(last.deadline(), last.id(), pageable);
+        }
+
+        Assertions.assertThat(expected).hasSizeGreaterThanOrEqualTo(5);
+        Assertions.assertThat(walked).doesNotHaveDuplicates().containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void shouldWalkUnsignedTasksByDescendingDeadlineWithoutSkippingOrRepeatingTiesTest() {
+        saveTasksWithSharedDeadline(LocalDate.of(2025, 1, 15), 3);
+        saveTasksWithSharedDeadline(LocalDate.of(2025, 1, 10), 2);
+        Sort sort = Sort.by("deadline", "id").descending();
+        List<TaskWithoutUserDto> expected = taskRepository.findUnsignedBasic(PageRequest.of(0, 100, sort));
+        Pageable pageable = PageRequest.of(0, 2, sort);
+
+        List<TaskWithoutUserDto> walked = new ArrayList<>();
+        List<TaskWithoutUserDto> page = taskRepository.findUnsignedBasic(pageable);
+        while (!page.isEmpty()) {
+            walked.addAll(page);
+            TaskWithoutUserDto last = page.getLast();
+            page = taskRepository.findUnsignedBasicBeforeDeadline(last.deadline(), last.id(), pageable);
+        }
+
+        Assertions.assertThat(expected).hasSizeGreaterThanOrEqualTo(5);
+        Assertions.assertThat(walked).doesNotHaveDuplicates().containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void shouldWalkUnsignedTasksAfterIdTest() {
+        saveTasksWithSharedDeadline(LocalDate.of(2025, 1, 15), 3);
+        Pageable pageable = PageRequest.of(0, 2, Sort.by("id"));
+        List<TaskWithoutUserDto> expected = taskRepository.findUnsignedBasic(PageRequest.of(0, 100, Sort.by("id")));
+
+        List<TaskWithoutUserDto> walked = new ArrayList<>();
+        List<TaskWithoutUserDto> page = taskRepository.findUnsignedBasic(pageable);
+        while (!page.isEmpty()) {
+            walked.addAll(page);
+            page = taskRepository.findUnsignedBasicAfterId(page.getLast().id(), pageable);
+        }
+
+        Assertions.assertThat(walked).doesNotHaveDuplicates().containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void shouldFindOnlyExistingTitlesTest() {
+        List<String> titles = taskRepository.findExistingTitles(List.of("title_1", "title_12", "title_missing"));
+
+        Assertions.assertThat(titles).containsExactlyInAnyOrder("title_1", "title_12");
+    }
+
+    @Test
+    void shouldPersistTasksInBatchesAndLinkUsersTest() {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < TaskRepositoryCustomImpl.BATCH_SIZE + 5; i++) {
+            tasks.add(Task.builder()
+                    .title("bulk_" + i)
+                    .description("bulk")
+                    .taskStatus(TaskStatus.TO_DO)
+                    .deadline(LocalDate.of(2025, 1, 1))
+                    .build());
+        }
+        List<Task> savedTasks = taskRepository.persistAllInBatches(tasks);
+        userTaskRepository.insertAll(List.of(
+                new UserTaskLink(2L, savedTasks.getFirst().getId()),
+                new UserTaskLink(3L, savedTasks.getFirst().getId())));
+        entityManager.clear();
+
+        Assertions.assertThat(taskRepository.findExistingTitles(tasks.stream().map(Task::getTitle).toList())).hasSize(tasks.size());
+        Task linkedTask = taskRepository.findAllWithUsersByIdIn(List.of(savedTasks.getFirst().getId())).getFirst();
+        Assertions.assertThat(linkedTask.getUsers().stream().map(User::getId)).containsExactlyInAnyOrder(2L, 3L);
+    }
+
+    @Test
+    void shouldUpdateStatusByIdsSkippingTasksAlreadyInStatusTest() {
+        int affected = taskRepository.updateStatusByIdIn(List.of(1L, 2L, 3L), TaskStatus.DONE);
+
+        Assertions.assertThat(affected).isEqualTo(2);
+        Assertions.assertThat(taskRepository.findAllById(List.of(1L, 2L, 3L)).stream().map(Task::getTaskStatus))
+                .containsOnly(TaskStatus.DONE);
+    }
+
+    @Test
+    void shouldUpdateStatusForSpecificUserAndStatusTest() {
+        int affected = taskRepository.updateStatusByOptionalUserAndStatus(2L, TaskStatus.TO_DO, TaskStatus.DONE);
+
+        Assertions.assertThat(affected).isEqualTo(4);
+        Assertions.assertThat(taskRepository.findAllById(List.of(1L, 4L, 6L, 8L)).stream().map(Task::getTaskStatus))
+                .containsOnly(TaskStatus.DONE);
+        Assertions.assertThat(taskRepository.findById(5L).orElseThrow().getTaskStatus()).isEqualTo(TaskStatus.TO_DO);
+    }
+
+    @Test
+    void shouldBumpVersionWhenStatusIsUpdatedInBulkTest() {
+        taskRepository.updateStatusByIdIn(List.of(1L), TaskStatus.DONE);
+
+        Assertions.assertThat(taskRepository.findById(1L).orElseThrow().getVersion()).isEqualTo(1L);
+        Assertions.assertThat(taskRepository.findById(2L).orElseThrow().getVersion()).isZero();
+    }
+
+    @Test
+    void shouldBumpVersionOfUsersLinkedToTaskTest() {
+        userRepository.incrementVersionByTaskIdIn(List.of(1L));
+
+        Assertions.assertThat(userRepository.findAllById(List.of(2L, 3L, 4L, 6L)).stream().map(User::getVersion))
+                .containsOnly(1L);
+        Assertions.assertThat(userRepository.findById(5L).orElseThrow().getVersion()).isZero();
+    }
+
+    @Test
+    void shouldInsertAndDeleteUserTaskLinksTest() {
+        userTaskRepository.deleteAll(List.of(new UserTaskLink(2L, 1L), new UserTaskLink(6L, 1L)));
+        userTaskRepository.insertAll(List.of(new UserTaskLink(5L, 1L)));
+
+        Assertions.assertThat(userTaskRepository.findUserIdsByTaskId(1L)).containsExactlyInAnyOrder(3L, 4L, 5L);
+        Assertions.assertThat(userTaskRepository.findTaskIdsByUserId(5L)).contains(1L);
+    }
+
+    @Test
+    void shouldDeleteHeavilyAssignedTaskWithSetBasedStatementsTest() {
+        int deletedLinks = userTaskRepository.deleteByTaskIds(List.of(11L));
+        int deletedTasks = taskRepository.deleteByIdIn(List.of(11L, 9999L));
+
+        Assertions.assertThat(deletedLinks).isEqualTo(5);
+        Assertions.assertThat(deletedTasks).isEqualTo(1);
+        Assertions.assertThat(taskRepository.findById(11L)).isEmpty();
+        Assertions.assertThat(userTaskRepository.findUserIdsByTaskId(11L)).isEmpty();
+    }
+
+    @Test
+    void shouldDeleteUsersAfterRemovingTheirLinksTest() {
+        userTaskRepository.deleteByUserIds(List.of(5L, 6L));
+        int deletedUsers = userRepository.deleteByIdIn(List.of(5L, 6L));
+
+        Assertions.assertThat(deletedUsers).isEqualTo(2);
+        Assertions.assertThat(userRepository.findAllById(List.of(5L, 6L))).isEmpty();
+        Assertions.assertThat(userTaskRepository.findUserIdsByTaskId(4L)).containsExactlyInAnyOrder(2L, 3L, 4L);
+    }
+
+    private void saveTasksWithSharedDeadline(LocalDate deadline, int count) {
+        for (int i = 0; i < count; i++) {
+            taskRepository.save(Task.builder()
+                    .title("shared_deadline_" + deadline + "_" + i)
+                    .description("shared deadline")
+                    .taskStatus(TaskStatus.TO_DO)
+                    .deadline(deadline)
+                    .build());
+        }
+    }
 }
@@ -7,6 +7,7 @@ import com.example.enigma.model.Role;
 import com.example.enigma.model.TaskStatus;
 import com.example.enigma.model.entity.Task;
 import com.example.enigma.model.entity.User;
+import com.example.enigma.model.user_dto.UserWithoutTaskDto;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,11 +15,13 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @DataJpaTest
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
@@ -93,7 +96,7 @@ class UserRepositoryTest {
     @Test
     void shouldFindByOptionalNameAndLastNameWithTasksTest() {
         PageRequest pageRequest = PageRequest.of(0, 5);
-        List<User> users = userRepository.findByOptionalNameAndLastNameWithTasks("user", "user", pageRequest);
+        List<User> users = userRepository.findPageByOptionalNameAndLastNameWithTasks("user", "user", pageRequest);
 
         Assertions.assertThat(users).hasSize(1);
         Assertions.assertThat(users.getFirst().getFirstName()).isEqualTo("user");
@@ -104,7 +107,7 @@ class UserRepositoryTest {
     @Test
     void shouldFindByOptionalNameAndLastNameWithTasks_NoLastNameTest() {
         PageRequest pageRequest = PageRequest.of(0, 5);
-        List<User> users = userRepository.findByOptionalNameAndLastNameWithTasks("userek", null, pageRequest);
+        List<User> users = userRepository.findPageByOptionalNameAndLastNameWithTasks("userek", null, pageRequest);
 
         Assertions.assertThat(users).hasSize(1);
         Assertions.assertThat(users.stream().map(User::getFirstName)).contains("userek");
@@ -113,7 +116,7 @@ class UserRepositoryTest {
     @Test
     void shouldFindByOptionalNameAndLastNameWithTasks_AllUsersTest() {
         PageRequest pageRequest = PageRequest.of(0, 5);
-        List<User> users = userRepository.findByOptionalNameAndLastNameWithTasks(null, null, pageRequest);
+        List<User> users = userRepository.findPageByOptionalNameAndLastNameWithTasks(null, null, pageRequest);
 
         Assertions.assertThat(users).hasSize(5);
         Assertions.assertThat(users.stream()
@@ -124,21 +127,31 @@ class UserRepositoryTest {
     }
 
     @Test
-    void shouldFindByOptionalNameAndLastNameTest() {
-        List<User> users = userRepository.findByOptionalNameAndLastName("user", "user");
+    void shouldPageUserIdsBeforeFetchingTasksTest() {
+        PageRequest pageRequest = PageRequest.of(1, 2, Sort.by("id"));
+        List<User> users = userRepository.findPageByOptionalNameAndLastNameWithTasks(null, null, pageRequest);
 
-        Assertions.assertThat(users).hasSize(1);
-        Assertions.assertThat(users.getFirst().getFirstName()).isEqualTo("user");
-        Assertions.assertThat(users.getFirst().getLastName()).isEqualTo("user");
-        Assertions.assertThat(users.getFirst().getEmail()).isEqualTo("user1@wp.pl");
+        Assertions.assertThat(users.stream().map(User::getId).toList()).containsExactly(3L, 4L);
+        Assertions.assertThat(users.getFirst().getTasks()).isNotEmpty();
     }
 
     @Test
-    void shouldFindByOptionalNameAndLastName_NoLastNameTest() {
-        List<User> users = userRepository.findByOptionalNameAndLastName("user", null);
+    void shouldPageUserIdsFilteredByFirstNameTest() {
+        PageRequest pageRequest = PageRequest.of(0, 5, Sort.by("id"));
+        List<User> users = userRepository.findPageByOptionalNameAndLastNameWithTasks("user", null, pageRequest);
 
         Assertions.assertThat(users).hasSize(3);
-        Assertions.assertThat(users.stream().map(User::getFirstName)).contains("user");
+        Assertions.assertThat(users.stream().map(User::getFirstName)).containsOnly("user");
+    }
+
+    @Test
+    void shouldFindBasicByOptionalNameAndLastNameTest() {
+        List<UserWithoutTaskDto> users = userRepository.findBasicByOptionalNameAndLastName("user", "user");
+
+        Assertions.assertThat(users).hasSize(1);
+        Assertions.assertThat(users.getFirst().name()).isEqualTo("user");
+        Assertions.assertThat(users.getFirst().lastName()).isEqualTo("user");
+        Assertions.assertThat(users.getFirst().email()).isEqualTo("user1@wp.pl");
     }
 
     @Test
@@ -148,7 +161,7 @@ class UserRepositoryTest {
                 .lastName(null)
                 .email(null)
                 .build();
-        Assertions.assertThatThrownBy(() -> userRepository.save(user))
+        Assertions.assertThatThrownBy(() -> userRepository.saveAndFlush(user))
                 .isInstanceOf(DataIntegrityViolationException.class);
     }
 
@@ -168,7 +181,7 @@ class UserRepositoryTest {
                 .lastName("last2")
                 .email("duplicate@example.com")
                 .build();
-        Assertions.assertThatThrownBy(() -> userRepository.save(user2))
+        Assertions.assertThatThrownBy(() -> userRepository.saveAndFlush(user2))
                 .isInstanceOf(DataIntegrityViolationException.class);
     }
 
@@ -222,4 +235,27 @@ class UserRepositoryTest {
 
         Assertions.assertThat(retrievedUser.getEmail()).isEqualTo("unique@example.com");
     }
+
+    @Test
+    void shouldStreamBasicUsersFilteredByFirstNameTest() {
+        try (Stream<UserWithoutTaskDto> users = userRepository.streamBasicByOptionalNameAndLastName("user", null, Sort.by("id"))) {
+            Assertions.assertThat(users.map(UserWithoutTaskDto::email).toList())
+                    .isEqualTo(List.of("user1@wp.pl", "user2@wp.pl", "user3@wp.pl"));
+        }
+    }
+
+    @Test
+    void shouldFindBasicUsersFilteredByFirstNameTest() {
+        List<UserWithoutTaskDto> users = userRepository.findBasicByOptionalNameAndLastName("user", null);
+
+        Assertions.assertThat(users).hasSize(3);
+        Assertions.assertThat(users.stream().map(UserWithoutTaskDto::name)).containsOnly("user");
+    }
+
+    @Test
+    void shouldFindEmailsOfExistingUsersTest() {
+        List<String> emails = userRepository.findEmailsByIdIn(List.of(1L, 2L, 999L));
+
+        Assertions.assertThat(emails).containsExactlyInAnyOrder("admin@wp.pl", "user1@wp.pl");
+    }
 }
@@ -0,0 +1,80 @@
+package com.example.enigma.service;
+
+import com.example.enigma.event.EntityChangedEvent;
+import com.example.enigma.model.entity.Task;
+import com.example.enigma.model.entity.User;
+import com.example.enigma.repository.ChangeCounterRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+
+@ExtendWith(MockitoExtension.class)
+class EntityTagServiceTest {
+    @Mock
+    ChangeCounterRepository changeCounterRepository;
+
+    @InjectMocks
+    EntityTagService entityTagService;
+
+    @Test
+    void forTask_ShouldCombineTaskVersionWithLinkedUsers() {
+        assertThat(entityTagService.forTask(taskWithUsers())).isEqualTo("task-3-2-5");
+    }
+
+    @Test
+    void forUser_ShouldCombineUserVersionWithLinkedTasks() {
+        User user = User.builder().id(1L).version(4L).build();
+        user.addTask(Task.builder().id(1L).version(7L).build());
+
+        assertThat(entityTagService.forUser(user)).isEqualTo("user-4-1-7");
+    }
+
+    @Test
+    void forCollections_ShouldCombineCountersOfTheRequestedTablesOnly() {
+        given(changeCounterRepository.findVersions(List.of("tasks"))).willReturn(Map.of("tasks", 12L));
+        given(changeCounterRepository.findVersions(List.of("tasks", "users"))).willReturn(Map.of("tasks", 12L, "users", 6L));
+
+        assertThat(entityTagService.forCollections(Task.class)).isEqualTo("tasks-12");
+        assertThat(entityTagService.forCollections(Task.class, User.class)).isEqualTo("tasks-12-users-6");
+    }
+
+    @Test
+    void onEntityChanged_ShouldBumpTheCounterOfTheChangedTable() {
+        entityTagService.onEntityChanged(new EntityChangedEvent(User.class));
+
+        then(changeCounterRepository).should().increment("users");
+    }
+
+    @Test
+    void onEntityChanged_ShouldIgnoreTypesWithoutCounter() {
+        entityTagService.onEntityChanged(new EntityChangedEvent(String.class));
+
+        then(changeCounterRepository).shouldHaveNoInteractions();
+    }
+
+    @Test
+    void matchesTask_ShouldAcceptAnyListedStrongETagOrWildcard() {
+        Task task = taskWithUsers();
+
+        assertThat(entityTagService.matchesTask(task, "\"task-2-2-5\", \"task-3-2-5\"")).isTrue();
+        assertThat(entityTagService.matchesTask(task, "*")).isTrue();
+        assertThat(entityTagService.matchesTask(task, "W/\"task-3-2-5\"")).isFalse();
+        assertThat(entityTagService.matchesTask(task, "\"task-2-2-5\"")).isFalse();
+    }
+
+    private static Task taskWithUsers() {
+        Task task = Task.builder().id(1L).version(3L).build();
+        User.builder().id(1L).version(2L).build().addTask(task);
+        User.builder().id(2L).version(3L).build().addTask(task);
+        return task;
+    }
+}
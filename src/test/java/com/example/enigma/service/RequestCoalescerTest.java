@@ -0,0 +1,110 @@
+package com.example.enigma.service;
+
+import com.example.enigma.event.EntityChangedEvent;
+import com.example.enigma.exception.task.TaskNotFoundException;
+import com.example.enigma.model.entity.Task;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RequestCoalescerTest {
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger loads = new AtomicInteger();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RequestCoalescer requestCoalescer = new RequestCoalescer(meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+    }
+
+    @Test
+    void shouldShareOneInFlightLoadBetweenConcurrentCallers() throws Exception {
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> requestCoalescer.load("task.by-id", 1L, this::blockingLoad));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> follower = CompletableFuture.supplyAsync(() -> requestCoalescer.load("task.by-id", 1L, this::blockingLoad));
+        while (meterRegistry.counter("requests.coalesced", "operation", "task.by-id").count() < 1) {
+            Thread.onSpinWait();
+        }
+
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("loaded-1");
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("loaded-1");
+        assertThat(loads).hasValue(1);
+        DistributionSummary callers = meterRegistry.get("requests.coalesced.callers").tag("operation", "task.by-id").summary();
+        assertThat(callers.count()).isEqualTo(1);
+        assertThat(callers.totalAmount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldLoadAgainOnceThePreviousLoadCompleted() {
+        release.countDown();
+
+        requestCoalescer.load("task.by-id", 1L, this::blockingLoad);
+        requestCoalescer.load("task.by-id", 1L, this::blockingLoad);
+        requestCoalescer.load("task.by-title", 1L, this::blockingLoad);
+
+        assertThat(loads).hasValue(3);
+        assertThat(meterRegistry.counter("requests.coalesced", "operation", "task.by-id").count()).isZero();
+    }
+
+    @Test
+    void shouldNotShareLookupStartedBeforeACommittedWrite() throws Exception {
+        CompletableFuture<String> stale = CompletableFuture.supplyAsync(() -> requestCoalescer.load("task.by-title", "title_1", this::blockingLoad));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        requestCoalescer.onEntityChanged(new EntityChangedEvent(Task.class));
+        String fresh = requestCoalescer.load("task.by-title", "title_1", () -> "loaded-after-write");
+        release.countDown();
+
+        assertThat(fresh).isEqualTo("loaded-after-write");
+        assertThat(stale.get(5, TimeUnit.SECONDS)).isEqualTo("loaded-1");
+        assertThat(meterRegistry.counter("requests.coalesced", "operation", "task.by-title").count()).isZero();
+    }
+
+    @Test
+    void shouldPropagateLoaderFailureToEveryCaller() throws Exception {
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> requestCoalescer.load("task.by-id", 2L, () -> {
+            blockingLoad();
+            throw new TaskNotFoundException("Task not found");
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> follower = CompletableFuture.supplyAsync(() -> requestCoalescer.load("task.by-id", 2L, this::blockingLoad));
+        while (meterRegistry.counter("requests.coalesced", "operation", "task.by-id").count() < 1) {
+            Thread.onSpinWait();
+        }
+
+        release.countDown();
+
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(TaskNotFoundException.class);
+        assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(TaskNotFoundException.class);
+        assertThat(loads).hasValue(1);
+    }
+
+    private String blockingLoad() {
+        int load = loads.incrementAndGet();
+        started.countDown();
+        try {
+            release.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        return "loaded-" + load;
+    }
+}
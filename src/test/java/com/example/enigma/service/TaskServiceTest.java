@@ -2,22 +2,36 @@ package com.example.enigma.service;
 
 import com.example.enigma.model.entity.Task;
 import com.example.enigma.model.entity.User;
+import com.example.enigma.model.task_dto.TaskBulkItemResult;
+import com.example.enigma.model.task_dto.TaskBulkStatusRequest;
+import com.example.enigma.model.task_dto.TaskBulkStatusResponse;
+import com.example.enigma.model.task_dto.TaskCursor;
+import com.example.enigma.model.task_dto.TaskCursorPage;
 import com.example.enigma.model.task_dto.TaskDto;
 import com.example.enigma.model.task_dto.TaskWithoutIdDto;
 import com.example.enigma.model.task_dto.TaskWithoutUserDto;
 import com.example.enigma.model.task_dto.mapper.TaskDtoMapper;
 import com.example.enigma.sample.TaskUserSampleData;
+import com.example.enigma.event.EntityChangedEvent;
 import com.example.enigma.exception.ErrorMessage;
+import com.example.enigma.exception.task.InvalidCursorException;
+import com.example.enigma.exception.task.TaskModifiedException;
 import com.example.enigma.exception.task.TaskNotFoundException;
 import com.example.enigma.exception.task.TitleAlreadyExistsException;
 import com.example.enigma.exception.user.UserAttachedException;
 import com.example.enigma.exception.user.UserNotFoundException;
 import com.example.enigma.model.Action;
+import com.example.enigma.model.BulkDeleteResponse;
+import com.example.enigma.model.BulkItemStatus;
 import com.example.enigma.model.SortDirection;
+import com.example.enigma.model.Tagged;
 import com.example.enigma.model.TaskStatus;
 import com.example.enigma.model.user_dto.UserTaskActionRequest;
 import com.example.enigma.repository.TaskRepository;
 import com.example.enigma.repository.UserRepository;
+import com.example.enigma.repository.UserTaskLink;
+import com.example.enigma.repository.UserTaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -26,9 +40,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 
@@ -40,6 +56,7 @@ import java.time.LocalDate;
 import java.util.*;
 
 import static org.mockito.BDDMockito.willDoNothing;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -49,6 +66,16 @@ public class TaskServiceTest {
     UserRepository userRepository;
     @Mock
     TaskRepository taskRepository;
+    @Mock
+    UserTaskRepository userTaskRepository;
+    @Mock
+    UserTaskAssignmentService userTaskAssignmentService;
+    @Mock
+    EntityTagService entityTagService;
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+    @Spy
+    RequestCoalescer requestCoalescer = new RequestCoalescer(new SimpleMeterRegistry());
 
     @InjectMocks
     TaskService taskService;
@@ -146,7 +173,7 @@ public class TaskServiceTest {
             Sort sorted = Sort.by("id");
             if (sort) {
                 sorted = (sortDirection == SortDirection.DESC) ?
-                        Sort.by("deadline").descending() : Sort.by("deadline").ascending();
+                        Sort.by("deadline", "id").descending() : Sort.by("deadline", "id").ascending();
             }
             List<Task> expectedTasks;
             do {
@@ -162,7 +189,7 @@ public class TaskServiceTest {
                 List<TaskDto> expectedResult = TaskDtoMapper.mapToTaskDtos(expectedTasks);
 
                 PageRequest pageRequest = PageRequest.of(pageNumber - 1, pageSize, sorted);
-                given(taskRepository.findByOptionalUserAndStatusTaskWithUser(userId, status, pageRequest)).willReturn(expectedTasks);
+                given(taskRepository.findPageByOptionalUserAndStatusTaskWithUser(userId, status, pageRequest)).willReturn(expectedTasks);
                 List<TaskDto> result = taskService.findAllDetailed(userId, status, pageNumber, sort, sortDirection);
                 logger.info("page number: {}", pageNumber);
                 result.forEach(taskDto -> logger.info(taskDto.toString()));
@@ -172,6 +199,61 @@ public class TaskServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("Tests for findAllDetailedByCursor")
+    class FindAllDetailedByCursor {
+        @Test
+        void shouldReturnFirstPageWithNextCursorWhenCursorIsEmpty() {
+            Sort sorted = Sort.by("id");
+            List<Task> expectedTasks = tasks.subList(0, pageSize);
+            List<Long> ids = expectedTasks.stream().map(Task::getId).toList();
+            given(taskRepository.findTaskIdsByOptionalUserAndStatus(null, null, PageRequest.of(0, pageSize, sorted))).willReturn(ids);
+            given(taskRepository.findAllWithUsersInIdOrder(ids)).willReturn(expectedTasks);
+            TaskCursorPage<TaskDto> result = taskService.findAllDetailedByCursor(null, null, "", false, SortDirection.ASC);
+            assertThat(result.content()).isEqualTo(TaskDtoMapper.mapToTaskDtos(expectedTasks));
+            assertThat(TaskCursor.decode(result.nextCursor(), false).id()).isEqualTo(expectedTasks.getLast().getId());
+        }
+
+        @Test
+        void shouldSeekAfterDeadlineAndIdWhenSortedAscending() {
+            Sort sorted = Sort.by("deadline", "id").ascending();
+            Task lastSeen = tasks.getFirst();
+            String cursor = TaskCursor.of(lastSeen.getId(), lastSeen.getDeadline(), true).encode();
+            List<Task> expectedTasks = List.of(tasks.get(1));
+            List<Long> ids = List.of(tasks.get(1).getId());
+            given(taskRepository.findTaskIdsByOptionalUserAndStatusAfterDeadline(null, TaskStatus.DONE, lastSeen.getDeadline(), lastSeen.getId(),
+                    PageRequest.of(0, pageSize, sorted))).willReturn(ids);
+            given(taskRepository.findAllWithUsersInIdOrder(ids)).willReturn(expectedTasks);
+            TaskCursorPage<TaskDto> result = taskService.findAllDetailedByCursor(null, TaskStatus.DONE, cursor, true, SortDirection.ASC);
+            assertThat(result.content()).isEqualTo(TaskDtoMapper.mapToTaskDtos(expectedTasks));
+            assertThat(result.nextCursor()).isNull();
+        }
+
+        @Test
+        void shouldSeekBeforeDeadlineAndIdWhenSortedDescending() {
+            Sort sorted = Sort.by("deadline", "id").descending();
+            Task lastSeen = tasks.get(2);
+            String cursor = TaskCursor.of(lastSeen.getId(), lastSeen.getDeadline(), true).encode();
+            given(taskRepository.findTaskIdsByOptionalUserAndStatusBeforeDeadline(1L, null, lastSeen.getDeadline(), lastSeen.getId(),
+                    PageRequest.of(0, pageSize, sorted))).willReturn(List.of());
+            given(taskRepository.findAllWithUsersInIdOrder(List.of())).willReturn(List.of());
+            TaskCursorPage<TaskDto> result = taskService.findAllDetailedByCursor(1L, null, cursor, true, SortDirection.DESC);
+            assertThat(result.content()).isEmpty();
+            assertThat(result.nextCursor()).isNull();
+        }
+
+        @Test
+        void shouldThrowInvalidCursorExceptionWhenCursorDoesNotMatchSort() {
+            String cursor = TaskCursor.of(1L, null, false).encode();
+            InvalidCursorException exception = assertThrows(
+                    InvalidCursorException.class,
+                    () -> taskService.findAllDetailedByCursor(null, null, cursor, true, SortDirection.ASC)
+            );
+            assertThat(exception.getMessage())
+                    .isEqualTo(String.format(ErrorMessage.INVALID_CURSOR, cursor));
+        }
+    }
+
     @Nested
     @DisplayName("Tests for findAllBasic")
     class FindAllBasic {
@@ -262,7 +344,7 @@ public class TaskServiceTest {
             Sort sorted = Sort.by("id");
             if (sort) {
                 sorted = (sortDirection == SortDirection.DESC) ?
-                        Sort.by("deadline").descending() : Sort.by("deadline").ascending();
+                        Sort.by("deadline", "id").descending() : Sort.by("deadline", "id").ascending();
             }
             List<Task> expectedTasks = tasks.stream()
                     .filter(task -> userId == null || task.getUsers().stream().map(User::getId).toList().contains(userId))
@@ -272,7 +354,7 @@ public class TaskServiceTest {
                     ) : Comparator.comparing(Task::getId))
                     .toList();
             List<TaskWithoutUserDto> expectedResult = TaskDtoMapper.mapToTaskWithoutUserDtos(expectedTasks);
-            given(taskRepository.findByOptionalUserAndStatusTask(userId, status, PageRequest.of(0, Integer.MAX_VALUE, sorted))).willReturn(expectedTasks);
+            given(taskRepository.findBasicByOptionalUserAndStatus(userId, status, sorted)).willReturn(expectedResult);
             List<TaskWithoutUserDto> result = taskService.findAllBasic(userId, status, sort, sortDirection);
             result.forEach(taskDto -> logger.info(taskDto.toString()));
             assertThat(result).isEqualTo(expectedResult);
@@ -316,7 +398,7 @@ public class TaskServiceTest {
             Sort sorted = Sort.by("id");
             if (sort) {
                 sorted = (sortDirection == SortDirection.DESC) ?
-                        Sort.by("deadline").descending() : Sort.by("deadline").ascending();
+                        Sort.by("deadline", "id").descending() : Sort.by("deadline", "id").ascending();
             }
             List<Task> expectedTasks;
             do {
@@ -329,8 +411,8 @@ public class TaskServiceTest {
                         .limit(pageSize)
                         .toList();
                 PageRequest pageRequest = PageRequest.of(pageNumber - 1, pageSize, sorted);
-                given(taskRepository.findUnsignedTasks(pageRequest)).willReturn(expectedTasks);
                 List<TaskWithoutUserDto> expectedResult = TaskDtoMapper.mapToTaskWithoutUserDtos(expectedTasks);
+                given(taskRepository.findUnsignedBasic(pageRequest)).willReturn(expectedResult);
                 List<TaskWithoutUserDto> result = taskService.findUnsigned(pageNumber, sort,sortDirection);
                 logger.info("page number: {}", pageNumber);
                 result.forEach(taskDto -> logger.info(taskDto.toString()));
@@ -340,6 +422,38 @@ public class TaskServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("Tests for streamAllBasic")
+    class StreamAllBasic {
+        @Test
+        void shouldPassEveryStreamedTaskToConsumerInOrder() {
+            Sort sorted = Sort.by("deadline", "id").descending();
+            List<TaskWithoutUserDto> expectedResult = TaskDtoMapper.mapToTaskWithoutUserDtos(tasks);
+            given(taskRepository.streamBasicByOptionalUserAndStatus(1L, TaskStatus.TO_DO, sorted)).willReturn(expectedResult.stream());
+            List<TaskWithoutUserDto> result = new ArrayList<>();
+            taskService.streamAllBasic(1L, TaskStatus.TO_DO, true, SortDirection.DESC, result::add);
+            assertThat(result).isEqualTo(expectedResult);
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests for findUnsignedByCursor")
+    class FindUnsignedByCursor {
+        @Test
+        void shouldSeekAfterIdWhenSortingDisabled() {
+            Sort sorted = Sort.by("id");
+            List<Task> expectedTasks = tasks.stream()
+                    .filter(task -> task.getUsers().isEmpty())
+                    .toList();
+            String cursor = TaskCursor.of(5L, null, false).encode();
+            List<TaskWithoutUserDto> expectedResult = TaskDtoMapper.mapToTaskWithoutUserDtos(expectedTasks);
+            given(taskRepository.findUnsignedBasicAfterId(5L, PageRequest.of(0, pageSize, sorted))).willReturn(expectedResult);
+            TaskCursorPage<TaskWithoutUserDto> result = taskService.findUnsignedByCursor(cursor, false, SortDirection.ASC);
+            assertThat(result.content()).isEqualTo(expectedResult);
+            assertThat(TaskCursor.decode(result.nextCursor(), false).id()).isEqualTo(expectedTasks.getLast().getId());
+        }
+    }
+
     @Nested
     @DisplayName("Tests for findTaskById")
     class FindTaskById {
@@ -364,8 +478,10 @@ public class TaskServiceTest {
                     .orElseThrow();
             TaskDto expectedResult = TaskDtoMapper.mapToTaskDto(task);
             given(taskRepository.findById(searchedTaskId)).willReturn(Optional.of(task));
-            TaskDto result = taskService.findTaskById(searchedTaskId);
-            assertThat(result).isEqualTo(expectedResult);
+            given(entityTagService.forTask(task)).willReturn("task-0-4-0");
+            Tagged<TaskDto> result = taskService.findTaskById(searchedTaskId);
+            assertThat(result).isEqualTo(new Tagged<>("task-0-4-0", expectedResult));
+            verify(requestCoalescer).load(ArgumentMatchers.eq("task.by-id"), ArgumentMatchers.eq(searchedTaskId), ArgumentMatchers.any());
         }
     }
 
@@ -399,6 +515,85 @@ public class TaskServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("Tests for createAll")
+    class CreateAll {
+        @Test
+        void shouldCreateNewTasksAndReportRejectedOnes() {
+            TaskWithoutIdDto newTask = new TaskWithoutIdDto("new_title", "new_description", TaskStatus.TO_DO,
+                    LocalDate.now().plusDays(1), List.of(1L, 2L, 99L));
+            TaskWithoutIdDto existingTask = new TaskWithoutIdDto("existing_title", "description", TaskStatus.TO_DO,
+                    LocalDate.now().plusDays(1), null);
+            TaskWithoutIdDto duplicatedTask = new TaskWithoutIdDto("new_title", "other_description", TaskStatus.DONE,
+                    LocalDate.now().plusDays(2), List.of(1L));
+            given(taskRepository.findExistingTitles(ArgumentMatchers.any())).willReturn(List.of("existing_title"));
+            given(userRepository.findExistingIds(ArgumentMatchers.any())).willReturn(List.of(1L, 2L));
+            given(taskRepository.persistAllInBatches(ArgumentMatchers.any())).willAnswer(invocation -> {
+                List<Task> createdTasks = invocation.getArgument(0);
+                createdTasks.forEach(task -> task.setId(100L));
+                return createdTasks;
+            });
+
+            List<TaskBulkItemResult> result = taskService.createAll(List.of(newTask, existingTask, duplicatedTask));
+
+            assertThat(result).containsExactly(
+                    new TaskBulkItemResult(0, "new_title", 100L, BulkItemStatus.CREATED, null),
+                    new TaskBulkItemResult(1, "existing_title", null, BulkItemStatus.TITLE_ALREADY_EXISTS,
+                            String.format(ErrorMessage.TITLE_ALREADY_EXISTS_WITH_TITLE, "existing_title")),
+                    new TaskBulkItemResult(2, "new_title", null, BulkItemStatus.DUPLICATE_TITLE,
+                            String.format(ErrorMessage.DUPLICATE_TITLE_IN_REQUEST, "new_title")));
+            verify(userTaskRepository, times(1)).insertAll(List.of(new UserTaskLink(1L, 100L), new UserTaskLink(2L, 100L)));
+        }
+
+        @Test
+        void shouldQueryExistingTitlesInChunks() {
+            List<TaskWithoutIdDto> newTasks = new ArrayList<>();
+            for (int i = 0; i < QueryChunks.IN_CLAUSE_CHUNK_SIZE + 1; i++) {
+                newTasks.add(new TaskWithoutIdDto("title_" + i, "description", TaskStatus.TO_DO, LocalDate.now().plusDays(1), null));
+            }
+            given(taskRepository.findExistingTitles(ArgumentMatchers.any())).willReturn(List.of());
+            given(taskRepository.persistAllInBatches(ArgumentMatchers.any())).willAnswer(invocation -> invocation.getArgument(0));
+
+            List<TaskBulkItemResult> result = taskService.createAll(newTasks);
+
+            assertThat(result).hasSize(newTasks.size());
+            assertThat(result).allMatch(item -> item.status() == BulkItemStatus.CREATED);
+            verify(taskRepository, times(2)).findExistingTitles(ArgumentMatchers.any());
+            verify(userRepository, times(0)).findExistingIds(ArgumentMatchers.any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests for changeStatusInBulk")
+    class ChangeStatusInBulk {
+        @Test
+        void shouldUpdateByIdsInChunksAndSumAffectedRows() {
+            List<Long> ids = new ArrayList<>();
+            for (long id = 1; id <= QueryChunks.IN_CLAUSE_CHUNK_SIZE + 1; id++) {
+                ids.add(id);
+            }
+            ids.add(1L);
+            given(taskRepository.updateStatusByIdIn(ids.subList(0, QueryChunks.IN_CLAUSE_CHUNK_SIZE), TaskStatus.DONE))
+                    .willReturn(QueryChunks.IN_CLAUSE_CHUNK_SIZE - 3);
+            given(taskRepository.updateStatusByIdIn(List.of((long) QueryChunks.IN_CLAUSE_CHUNK_SIZE + 1), TaskStatus.DONE))
+                    .willReturn(1);
+
+            TaskBulkStatusResponse result = taskService.changeStatusInBulk(new TaskBulkStatusRequest(TaskStatus.DONE, ids, null, null));
+
+            assertThat(result.affected()).isEqualTo(QueryChunks.IN_CLAUSE_CHUNK_SIZE - 2);
+        }
+
+        @Test
+        void shouldUpdateByFilterWhenIdsAreMissing() {
+            given(taskRepository.updateStatusByOptionalUserAndStatus(2L, TaskStatus.TO_DO, TaskStatus.DONE)).willReturn(4);
+
+            TaskBulkStatusResponse result = taskService.changeStatusInBulk(new TaskBulkStatusRequest(TaskStatus.DONE, null, 2L, TaskStatus.TO_DO));
+
+            assertThat(result.affected()).isEqualTo(4);
+            verify(taskRepository, times(0)).updateStatusByIdIn(ArgumentMatchers.any(), ArgumentMatchers.any());
+        }
+    }
+
     @Nested
     @DisplayName("Tests for create")
     class CreateTask {
@@ -464,11 +659,11 @@ public class TaskServiceTest {
                     .filter(t -> t.getId().equals(taskIdToUpdateUser))
                     .findFirst()
                     .orElseThrow();
-            given(taskRepository.findById(taskIdToUpdateUser)).willReturn(Optional.empty());
+            given(taskRepository.findForUpdateById(taskIdToUpdateUser)).willReturn(Optional.empty());
             TaskWithoutIdDto taskDto = TaskDtoMapper.mapToTaskWithoutIdDto(task);
             TaskNotFoundException exception = assertThrows(
                     TaskNotFoundException.class,
-                    () -> taskService.update(taskIdToUpdateUser, taskDto)
+                    () -> taskService.update(taskIdToUpdateUser, taskDto, null)
             );
             assertThat(exception.getMessage())
                     .isEqualTo(String.format(ErrorMessage.TASK_NOT_FOUND_BY_ID, taskIdToUpdateUser));
@@ -497,11 +692,11 @@ public class TaskServiceTest {
                     .findFirst()
                     .orElseThrow();
             TaskWithoutIdDto taskDto = TaskDtoMapper.mapToTaskWithoutIdDto(taskUpdated);
-            given(taskRepository.findById(taskIdToUpdateUser)).willReturn(Optional.of(task));
+            given(taskRepository.findForUpdateById(taskIdToUpdateUser)).willReturn(Optional.of(task));
             given(taskRepository.findByTitle(newTitle)).willReturn(Optional.of(secondTask));
             TitleAlreadyExistsException exception = assertThrows(
                     TitleAlreadyExistsException.class,
-                    () -> taskService.update(taskIdToUpdateUser, taskDto)
+                    () -> taskService.update(taskIdToUpdateUser, taskDto, null)
             );
             assertThat(exception.getMessage())
                     .isEqualTo(String.format(ErrorMessage.TITLE_ALREADY_EXISTS_WITH_TITLE, newTitle));
@@ -525,13 +720,14 @@ public class TaskServiceTest {
             task.getUsers().forEach(user -> user.addTask(task));
             TaskWithoutIdDto taskDto = TaskDtoMapper.mapToTaskWithoutIdDto(taskUpdated);
             TaskDto expectedResult = TaskDtoMapper.mapToTaskDto(taskUpdated);
-            given(taskRepository.findById(taskIdToUpdateUser)).willReturn(Optional.of(task));
+            given(taskRepository.findForUpdateById(taskIdToUpdateUser)).willReturn(Optional.of(task));
             given(taskRepository.findByTitle(newTitle)).willReturn(Optional.empty());
             given(taskRepository.save(ArgumentMatchers.any(Task.class))).willReturn(taskUpdated);
-            TaskDto result = taskService.update(taskIdToUpdateUser, taskDto);
+            TaskDto result = taskService.update(taskIdToUpdateUser, taskDto, null);
             assertThat(result).isEqualTo(expectedResult);
             assertThat(result.description()).isEqualTo(task.getDescription());
             assertThat(result.deadline()).isEqualTo(task.getDeadline());
+            verify(userTaskAssignmentService).replaceUsersOfTask(taskIdToUpdateUser, taskDto.usersIds());
         }
     }
 
@@ -545,12 +741,29 @@ public class TaskServiceTest {
             given(taskRepository.findById(taskIdToChangeStatus)).willReturn(Optional.empty());
             TaskNotFoundException exception = assertThrows(
                     TaskNotFoundException.class,
-                    () -> taskService.changeStatus(taskIdToChangeStatus, newStatus)
+                    () -> taskService.changeStatus(taskIdToChangeStatus, newStatus, null)
             );
             assertThat(exception.getMessage())
                     .isEqualTo(String.format(ErrorMessage.TASK_NOT_FOUND_BY_ID, taskIdToChangeStatus));
         }
 
+        @Test
+        void shouldRejectStatusChangeWhenIfMatchIsStale() {
+            Long taskIdToChangeStatus = 1L;
+            Task task = tasks.getFirst();
+            given(taskRepository.findById(taskIdToChangeStatus)).willReturn(Optional.of(task));
+            given(entityTagService.matchesTask(task, "\"task-0-4-0\"")).willReturn(false);
+
+            TaskModifiedException exception = assertThrows(
+                    TaskModifiedException.class,
+                    () -> taskService.changeStatus(taskIdToChangeStatus, TaskStatus.DONE, "\"task-0-4-0\"")
+            );
+
+            assertThat(exception.getMessage())
+                    .isEqualTo(String.format(ErrorMessage.TASK_MODIFIED, taskIdToChangeStatus));
+            verify(taskRepository, never()).save(ArgumentMatchers.any(Task.class));
+        }
+
         @Test
         void shouldChangeTaskStatusSuccessfully() {
             Long taskIdToChangeStatus = 1L;
@@ -570,7 +783,7 @@ public class TaskServiceTest {
             given(taskRepository.findById(taskIdToChangeStatus)).willReturn(Optional.of(task));
             given(taskRepository.save(ArgumentMatchers.any(Task.class))).willReturn(taskUpdated);
             TaskDto expectedResult = TaskDtoMapper.mapToTaskDto(taskUpdated);
-            TaskDto result = taskService.changeStatus(taskIdToChangeStatus, newStatus);
+            TaskDto result = taskService.changeStatus(taskIdToChangeStatus, newStatus, null);
             assertThat(result).isEqualTo(expectedResult);
             assertThat(result.description()).isEqualTo(task.getDescription());
             assertThat(result.deadline()).isEqualTo(task.getDeadline());
@@ -586,10 +799,10 @@ public class TaskServiceTest {
             Long userId = 1L;
             Action action = Action.ADD;
             UserTaskActionRequest userTaskActionRequest = new UserTaskActionRequest(userId, action);
-            given(taskRepository.findById(taskIdToAddUser)).willReturn(Optional.empty());
+            given(taskRepository.findForUpdateById(taskIdToAddUser)).willReturn(Optional.empty());
             TaskNotFoundException exception = assertThrows(
                     TaskNotFoundException.class,
-                    () -> taskService.modifyUserAssignmentToTask(taskIdToAddUser, userTaskActionRequest)
+                    () -> taskService.modifyUserAssignmentToTask(taskIdToAddUser, userTaskActionRequest, null)
             );
             assertThat(exception.getMessage())
                     .isEqualTo(String.format(ErrorMessage.TASK_NOT_FOUND_BY_ID, taskIdToAddUser));
@@ -605,12 +818,12 @@ public class TaskServiceTest {
                     .filter(t -> t.getId().equals(taskIdToAddUser))
                     .findFirst()
                     .orElseThrow();
-            given(taskRepository.findById(taskIdToAddUser)).willReturn(Optional.of(task));
+            given(taskRepository.findForUpdateById(taskIdToAddUser)).willReturn(Optional.of(task));
             given(userRepository.findById(userId)).willReturn(Optional.empty());
 
             UserNotFoundException exception = assertThrows(
                     UserNotFoundException.class,
-                    () -> taskService.modifyUserAssignmentToTask(taskIdToAddUser, userTaskActionRequest));
+                    () -> taskService.modifyUserAssignmentToTask(taskIdToAddUser, userTaskActionRequest, null));
             assertThat(exception.getMessage())
                     .isEqualTo(String.format(ErrorMessage.USER_NOT_FOUND_BY_ID, userId));
         }
@@ -629,12 +842,12 @@ public class TaskServiceTest {
                     .filter(t -> t.getId().equals(taskIdToAddUser))
                     .findFirst()
                     .orElseThrow();
-            given(taskRepository.findById(taskIdToAddUser)).willReturn(Optional.of(task));
+            given(taskRepository.findForUpdateById(taskIdToAddUser)).willReturn(Optional.of(task));
             given(userRepository.findById(userId)).willReturn(Optional.of(user));
 
             UserAttachedException exception = assertThrows(
                     UserAttachedException.class,
-                    () -> taskService.modifyUserAssignmentToTask(taskIdToAddUser, userTaskActionRequest));
+                    () -> taskService.modifyUserAssignmentToTask(taskIdToAddUser, userTaskActionRequest, null));
             assertThat(exception.getMessage())
                     .isEqualTo(String.format(ErrorMessage.USER_ALREADY_ATTACHED, userId));
         }
@@ -663,11 +876,11 @@ public class TaskServiceTest {
                     .deadline(task.getDeadline())
                     .build();
             updatedListOfUser.forEach(u -> user.addTask(taskUpdated));
-            given(taskRepository.findById(taskIdToAddUser)).willReturn(Optional.of(task));
+            given(taskRepository.findForUpdateById(taskIdToAddUser)).willReturn(Optional.of(task));
             given(userRepository.findById(userId)).willReturn(Optional.of(user));
             given(taskRepository.save(ArgumentMatchers.any(Task.class))).willReturn(taskUpdated);
             TaskDto expectedResult = TaskDtoMapper.mapToTaskDto(taskUpdated);
-            TaskDto result = taskService.modifyUserAssignmentToTask(taskIdToAddUser, userTaskActionRequest);
+            TaskDto result = taskService.modifyUserAssignmentToTask(taskIdToAddUser, userTaskActionRequest, null);
             assertThat(result).isEqualTo(expectedResult);
         }
 
@@ -681,12 +894,12 @@ public class TaskServiceTest {
                     .filter(t -> t.getId().equals(taskIdToRemoveUser))
                     .findFirst()
                     .orElseThrow();
-            given(taskRepository.findById(taskIdToRemoveUser)).willReturn(Optional.of(task));
+            given(taskRepository.findForUpdateById(taskIdToRemoveUser)).willReturn(Optional.of(task));
             given(userRepository.findById(userId)).willReturn(Optional.empty());
 
             UserNotFoundException exception = assertThrows(
                     UserNotFoundException.class,
-                    () -> taskService.modifyUserAssignmentToTask(taskIdToRemoveUser, userTaskActionRequest));
+                    () -> taskService.modifyUserAssignmentToTask(taskIdToRemoveUser, userTaskActionRequest, null));
             assertThat(exception.getMessage())
                     .isEqualTo(String.format(ErrorMessage.USER_NOT_FOUND_BY_ID, userId));
         }
@@ -705,12 +918,12 @@ public class TaskServiceTest {
                     .filter(t -> t.getId().equals(taskIdToRemoveUser))
                     .findFirst()
                     .orElseThrow();
-            given(taskRepository.findById(taskIdToRemoveUser)).willReturn(Optional.of(task));
+            given(taskRepository.findForUpdateById(taskIdToRemoveUser)).willReturn(Optional.of(task));
             given(userRepository.findById(userId)).willReturn(Optional.of(user));
 
             UserAttachedException exception = assertThrows(
                     UserAttachedException.class,
-                    () -> taskService.modifyUserAssignmentToTask(taskIdToRemoveUser, userTaskActionRequest));
+                    () -> taskService.modifyUserAssignmentToTask(taskIdToRemoveUser, userTaskActionRequest, null));
             assertThat(exception.getMessage())
                     .isEqualTo(String.format(ErrorMessage.USER_NOT_ATTACHED, userId));
         }
@@ -739,11 +952,11 @@ public class TaskServiceTest {
                     .deadline(task.getDeadline())
                     .build();
             updatedListOfUser.forEach(u -> u.addTask(taskUpdated));
-            given(taskRepository.findById(taskIdToRemoveUser)).willReturn(Optional.of(task));
+            given(taskRepository.findForUpdateById(taskIdToRemoveUser)).willReturn(Optional.of(task));
             given(userRepository.findById(userId)).willReturn(Optional.of(user));
             given(taskRepository.save(ArgumentMatchers.any(Task.class))).willReturn(taskUpdated);
             TaskDto expectedResult = TaskDtoMapper.mapToTaskDto(taskUpdated);
-            TaskDto result = taskService.modifyUserAssignmentToTask(taskIdToRemoveUser, userTaskActionRequest);
+            TaskDto result = taskService.modifyUserAssignmentToTask(taskIdToRemoveUser, userTaskActionRequest, null);
             assertThat(result).isEqualTo(expectedResult);
         }
     }
@@ -754,20 +967,25 @@ public class TaskServiceTest {
         @Test
         void shouldDeleteTaskWhenTaskExists() {
             Long taskToDeleteId = 1L;
-            Task task = tasks.stream()
-                    .filter(t -> t.getId().equals(taskToDeleteId))
-                    .findFirst()
-                    .orElseThrow();
-            given(taskRepository.findById(taskToDeleteId)).willReturn(Optional.of(task));
-            willDoNothing().given(taskRepository).deleteById(taskToDeleteId);
+            given(taskRepository.deleteByIdIn(List.of(taskToDeleteId))).willReturn(1);
             taskService.delete(taskToDeleteId);
-            verify(taskRepository, times(1)).deleteById(taskToDeleteId);
+            verify(userTaskAssignmentService, times(1)).removeAllForTasks(List.of(taskToDeleteId));
+            verify(taskRepository, times(1)).deleteByIdIn(List.of(taskToDeleteId));
+            verify(eventPublisher).publishEvent(new EntityChangedEvent(Task.class));
+        }
+
+        @Test
+        void shouldDeleteManyTasksWithOneStatementPerChunk() {
+            given(taskRepository.deleteByIdIn(List.of(1L, 2L, 3L))).willReturn(2);
+            BulkDeleteResponse result = taskService.deleteAll(List.of(1L, 2L, 3L, 2L));
+            assertThat(result.deleted()).isEqualTo(2);
+            verify(userTaskAssignmentService, times(1)).removeAllForTasks(List.of(1L, 2L, 3L));
         }
 
         @Test
         void shouldThrowExceptionWhenTaskNotFound() {
             Long taskToDeleteId = 1L;
-            given(taskRepository.findById(taskToDeleteId)).willReturn(Optional.empty());
+            given(taskRepository.deleteByIdIn(List.of(taskToDeleteId))).willReturn(0);
             TaskNotFoundException exception = assertThrows(
                     TaskNotFoundException.class,
                     () -> taskService.delete(taskToDeleteId)
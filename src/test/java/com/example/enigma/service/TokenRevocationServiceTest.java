@@ -0,0 +1,99 @@
+package com.example.enigma.service;
+
+import com.example.enigma.model.entity.RevokedToken;
+import com.example.enigma.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationServiceTest {
+    @Mock
+    RevokedTokenRepository revokedTokenRepository;
+
+    @InjectMocks
+    TokenRevocationService tokenRevocationService;
+
+    @Nested
+    @DisplayName("Tests for isRevoked")
+    class IsRevoked {
+        @Test
+        void shouldNotQueryDatabaseForUnknownTokens() {
+            assertThat(tokenRevocationService.isRevoked("unknown-jti")).isFalse();
+            assertThat(tokenRevocationService.isRevoked(null)).isFalse();
+            verify(revokedTokenRepository, never()).existsById(anyString());
+        }
+
+        @Test
+        void shouldReportTokensRevokedOnThisInstance() {
+            Instant expiresAt = Instant.now().plusSeconds(60);
+
+            tokenRevocationService.revoke("revoked-jti", expiresAt);
+
+            verify(revokedTokenRepository).save(argThat((RevokedToken token) ->
+                    token.getJti().equals("revoked-jti") && token.getExpiresAt().equals(expiresAt)));
+            assertThat(tokenRevocationService.isRevoked("revoked-jti")).isTrue();
+            verify(revokedTokenRepository, never()).existsById(anyString());
+        }
+
+        @Test
+        void shouldLoadRevokedTokensOnRebuild() {
+            given(revokedTokenRepository.findActiveJtis(any(Instant.class))).willReturn(List.of("a", "b"));
+
+            tokenRevocationService.rebuild();
+
+            verify(revokedTokenRepository).deleteExpired(any(Instant.class));
+            assertThat(tokenRevocationService.isRevoked("a")).isTrue();
+            assertThat(tokenRevocationService.isRevoked("b")).isTrue();
+            assertThat(tokenRevocationService.isRevoked("c")).isFalse();
+        }
+    }
+
+        @Test
+        void shouldKeepTokensRevokedWhileRebuildIsReadingTheDatabase() {
+            Instant expiresAt = Instant.now().plusSeconds(60);
+            willAnswer(invocation -> {
+                tokenRevocationService.revoke("late-jti", expiresAt);
+                return List.of("a");
+            }).given(revokedTokenRepository).findActiveJtis(any(Instant.class));
+
+            tokenRevocationService.rebuild();
+
+            assertThat(tokenRevocationService.isRevoked("late-jti")).isTrue();
+            assertThat(tokenRevocationService.isRevoked("a")).isTrue();
+            verify(revokedTokenRepository, never()).existsById(anyString());
+        }
+
+        @Test
+        void shouldCarryLocalRevocationsUntilTheDatabaseReturnsThem() {
+            tokenRevocationService.revoke("pending-jti", Instant.now().plusSeconds(60));
+            given(revokedTokenRepository.findActiveJtis(any(Instant.class)))
+                    .willReturn(List.of())
+                    .willReturn(List.of("pending-jti"))
+                    .willReturn(List.of());
+
+            tokenRevocationService.rebuild();
+            assertThat(tokenRevocationService.isRevoked("pending-jti")).isTrue();
+            tokenRevocationService.rebuild();
+            assertThat(tokenRevocationService.isRevoked("pending-jti")).isTrue();
+            tokenRevocationService.rebuild();
+            assertThat(tokenRevocationService.isRevoked("pending-jti")).isFalse();
+        }
+    }
+}
@@ -1,9 +1,12 @@
 package com.example.enigma.service;
 
+import com.example.enigma.event.EntityChangedEvent;
 import com.example.enigma.exception.ErrorMessage;
 import com.example.enigma.exception.user.EmailAlreadyExist;
 import com.example.enigma.exception.user.UserNotFoundException;
+import com.example.enigma.model.BulkDeleteResponse;
 import com.example.enigma.model.Role;
+import com.example.enigma.model.Tagged;
 import com.example.enigma.model.entity.Task;
 import com.example.enigma.model.entity.User;
 import com.example.enigma.model.task_dto.TaskWithoutUserDto;
@@ -16,6 +19,7 @@ import com.example.enigma.model.user_dto.mapper.UserDtoMapper;
 import com.example.enigma.repository.TaskRepository;
 import com.example.enigma.repository.UserRepository;
 import com.example.enigma.sample.TaskUserSampleData;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -24,8 +28,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.*;
@@ -49,6 +57,16 @@ class UserServiceTest {
     TaskRepository taskRepository;
     @Mock
     private PasswordEncoder passwordEncoder;
+    @Mock
+    private UserTaskAssignmentService userTaskAssignmentService;
+    @Mock
+    private UserCache userCache;
+    @Mock
+    private EntityTagService entityTagService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Spy
+    private RequestCoalescer requestCoalescer = new RequestCoalescer(new SimpleMeterRegistry());
 
     @InjectMocks
     UserService userService;
@@ -128,8 +146,8 @@ class UserServiceTest {
                         .skip((long) (pageNumber - 1) * pageSize)
                         .limit(pageSize)
                         .toList();
-                PageRequest pageRequest = PageRequest.of(pageNumber - 1, pageSize);
-                given(userRepository.findByOptionalNameAndLastNameWithTasks(name, lastName, pageRequest)).willReturn(expectedUsers);
+                PageRequest pageRequest = PageRequest.of(pageNumber - 1, pageSize, Sort.by("id"));
+                given(userRepository.findPageByOptionalNameAndLastNameWithTasks(name, lastName, pageRequest)).willReturn(expectedUsers);
                 List<UserDto> expectedResult = UserDtoMapper.mapToUserDtos(expectedUsers);
                 List<UserDto> result = userService.findAllDetailed(name, lastName, pageNumber);
 
@@ -194,13 +212,26 @@ class UserServiceTest {
 
         private void runFindAllBasicTest(String name, String lastName) {
             List<User> expectedUsers = users.stream().toList();
-            given(userRepository.findByOptionalNameAndLastName(name, lastName)).willReturn(expectedUsers);
             List<UserWithoutTaskDto> expectedResult = UserDtoMapper.mapToUserWithoutTaskDtos(expectedUsers);
+            given(userRepository.findBasicByOptionalNameAndLastName(name, lastName)).willReturn(expectedResult);
             List<UserWithoutTaskDto> result = userService.findAllBasic(name, lastName);
             assertThat(result).isEqualTo(expectedResult);
         }
     }
 
+    @Nested
+    @DisplayName("Tests for streamAllBasic")
+    class StreamAllBasic {
+        @Test
+        void shouldPassEveryStreamedUserToConsumerInOrder() {
+            List<UserWithoutTaskDto> expectedResult = UserDtoMapper.mapToUserWithoutTaskDtos(users);
+            given(userRepository.streamBasicByOptionalNameAndLastName("miriam", null, Sort.by("id"))).willReturn(expectedResult.stream());
+            List<UserWithoutTaskDto> result = new ArrayList<>();
+            userService.streamAllBasic("miriam", null, result::add);
+            assertThat(result).isEqualTo(expectedResult);
+        }
+    }
+
     @Nested
     @DisplayName("Tests for findUserById")
     class FindUserById {
@@ -211,9 +242,10 @@ class UserServiceTest {
                     .findFirst();
             given(userRepository.findById(searchedId)).willReturn(expectedUser);
             UserDto expectedResult = UserDtoMapper.mapToUserDto(expectedUser.orElseThrow());
-            UserDto result = userService.findUserById(searchedId);
+            given(entityTagService.forUser(expectedUser.orElseThrow())).willReturn("user-0-0-0");
+            Tagged<UserDto> result = userService.findUserById(searchedId);
 
-            assertThat(result).isEqualTo(expectedResult);
+            assertThat(result).isEqualTo(new Tagged<>("user-0-0-0", expectedResult));
         }
 
         @Test
@@ -365,12 +397,13 @@ class UserServiceTest {
                     .build();
             tasksToAdd.forEach(updatedUser::addTask);
 
-            given(userRepository.findUserWithTasksById(updatedUserId)).willReturn(user);
+            given(userRepository.findForUpdateById(updatedUserId)).willReturn(Optional.of(user));
             given(userRepository.save(ArgumentMatchers.any(User.class))).willReturn(updatedUser);
             UserWithTaskIdsAndWithoutIdDto userDto = UserDtoMapper.mapToUserWithTaskIdsAndWithoutIdDto(user);
             UserDto expectedResult = UserDtoMapper.mapToUserDto(updatedUser);
             UserDto result = userService.updateUserData(user, userDto);
             assertThat(result).isEqualTo(expectedResult);
+            verify(userCache).removeUserFromCache("ma@example.com");
         }
 
         @Test
@@ -390,7 +423,7 @@ class UserServiceTest {
                     "mati", "hautameki", email, List.of(1L, 2L)
             );
 
-            given(userRepository.findUserWithTasksById(updatedUserId)).willReturn(user);
+            given(userRepository.findForUpdateById(updatedUserId)).willReturn(Optional.of(user));
             given(userRepository.save(ArgumentMatchers.any(User.class))).willReturn(user);
 
             UserDto result = userService.updateUserData(user, updatedUserDto);
@@ -414,12 +447,13 @@ class UserServiceTest {
                     "mati", "hautameki", "ma@example.com", null
             );
 
-            given(userRepository.findUserWithTasksById(updatedUserId)).willReturn(user);
+            given(userRepository.findForUpdateById(updatedUserId)).willReturn(Optional.of(user));
             given(userRepository.save(ArgumentMatchers.any(User.class))).willReturn(user);
 
             UserDto result = userService.updateUserData(user, updatedUserDto);
 
             assertThat(result.tasks().stream().map(TaskWithoutUserDto::id).toList()).isEmpty();
+            verifyNoInteractions(userTaskAssignmentService);
         }
 
         @Test
@@ -441,16 +475,12 @@ class UserServiceTest {
                     .role(user.getRole())
                     .build();
 
-            given(userRepository.findUserWithTasksById(updatedUserId)).willReturn(user);
-            List<Task> currentTasks = user.getTasks().stream().toList();
-            given(taskRepository.findAllById(anyList())).willReturn(currentTasks);
-            given(taskRepository.findAllById(newTaskIds)).willReturn(Collections.emptyList());
+            given(userRepository.findForUpdateById(updatedUserId)).willReturn(Optional.of(user));
             given(userRepository.save(any())).willReturn(updatedUser);
             UserDto result = userService.updateUserData(user, updatedUserDto);
 
             assertThat(result.tasks()).isEmpty();
-            assertThat(user.getTasks()).isEmpty();
-            verify(taskRepository, times(2)).findAllById(anyList());
+            verify(userTaskAssignmentService).replaceTasksOfUser(updatedUserId, newTaskIds);
         }
 
         @Test
@@ -466,10 +496,6 @@ class UserServiceTest {
                     "mati", "hautameki", user.getEmail(), updatedTaskIds
             );
 
-            List<Task> tasksToRemove = user.getTasks().stream()
-                    .filter(task -> !updatedTaskIds.contains(task.getId()))
-                    .toList();
-
             List<Task> tasksToKeep = user.getTasks().stream()
                     .filter(task -> updatedTaskIds.contains(task.getId()))
                     .toList();
@@ -484,15 +510,13 @@ class UserServiceTest {
                     .build();
             tasksToKeep.forEach(updatedUser::addTask);
 
-            given(userRepository.findUserWithTasksById(updatedUserId)).willReturn(user);
-            given(taskRepository.findAllById(anyList())).willReturn(tasksToRemove);
-            given(taskRepository.findAllById(anyList())).willReturn(Collections.emptyList());
+            given(userRepository.findForUpdateById(updatedUserId)).willReturn(Optional.of(user));
             given(userRepository.save(any())).willReturn(updatedUser);
 
             UserDto result = userService.updateUserData(user, updatedUserDto);
 
             assertThat(result.tasks().stream().map(TaskWithoutUserDto::id).toList()).containsExactlyInAnyOrder(1L);
-            verify(taskRepository, times(2)).findAllById(anyList());
+            verify(userTaskAssignmentService).replaceTasksOfUser(updatedUserId, updatedTaskIds);
             verify(userRepository).save(any(User.class));
         }
 
@@ -512,14 +536,14 @@ class UserServiceTest {
                     "", "", "", null
             );
 
-            given(userRepository.findUserWithTasksById(updatedUserId)).willReturn(user);
+            given(userRepository.findForUpdateById(updatedUserId)).willReturn(Optional.of(user));
             given(userRepository.save(any())).willThrow(new IllegalArgumentException("Invalid input data"));
 
             assertThatThrownBy(() -> userService.updateUserData(user, updatedUserDto))
                     .isInstanceOf(IllegalArgumentException.class)
                     .hasMessageContaining("Invalid input data");
 
-            verify(userRepository).findUserWithTasksById(updatedUserId);
+            verify(userRepository).findForUpdateById(updatedUserId);
         }
     }
 
@@ -542,6 +566,7 @@ class UserServiceTest {
 
             assertThat(user.getPassword()).isEqualTo("encoded_new_password");
             verify(userRepository).save(user);
+            verify(userCache).removeUserFromCache(email);
         }
 
         @Test
@@ -566,11 +591,13 @@ class UserServiceTest {
             String oldPassword = "old_password";
             String newPassword = "new_password";
             User currentUser = new User();
+            currentUser.setId(1L);
             currentUser.setEmail("user@example.com");
             currentUser.setPassword(passwordEncoder.encode(oldPassword));
 
             UserPasswordUpdateDto request = new UserPasswordUpdateDto(oldPassword, newPassword);
 
+            given(userRepository.findById(1L)).willReturn(Optional.of(currentUser));
             given(passwordEncoder.matches(oldPassword, currentUser.getPassword())).willReturn(true);
             given(passwordEncoder.encode(newPassword)).willReturn("encoded_new_password");
 
@@ -578,6 +605,7 @@ class UserServiceTest {
 
             assertThat(currentUser.getPassword()).isEqualTo("encoded_new_password");
             verify(userRepository).save(currentUser);
+            verify(userCache).removeUserFromCache("user@example.com");
         }
 
         @Test
@@ -585,17 +613,38 @@ class UserServiceTest {
             String oldPassword = "wrong_old_password";
             String newPassword = "new_password";
             User currentUser = new User();
+            currentUser.setId(1L);
             currentUser.setEmail("user@example.com");
             currentUser.setPassword(passwordEncoder.encode("correct_old_password"));
 
             UserPasswordUpdateDto request = new UserPasswordUpdateDto(oldPassword, newPassword);
 
+            given(userRepository.findById(1L)).willReturn(Optional.of(currentUser));
             given(passwordEncoder.matches(oldPassword, currentUser.getPassword())).willReturn(false);
 
             assertThatThrownBy(() -> userService.editUserPasswordByUser(currentUser, request))
                     .isInstanceOf(IllegalArgumentException.class)
                     .hasMessageContaining(ErrorMessage.CURRENT_PASSWORD_INVALID);
         }
+
+        @Test
+        void shouldLoadStoredPasswordWhenPrincipalCarriesNone() {
+            User principal = User.builder().id(1L).email("user@example.com").role(Role.ROLE_USER).build();
+            User storedUser = new User();
+            storedUser.setId(1L);
+            storedUser.setPassword("encoded_old_password");
+
+            UserPasswordUpdateDto request = new UserPasswordUpdateDto("old_password", "new_password");
+
+            given(userRepository.findById(1L)).willReturn(Optional.of(storedUser));
+            given(passwordEncoder.matches("old_password", "encoded_old_password")).willReturn(true);
+            given(passwordEncoder.encode("new_password")).willReturn("encoded_new_password");
+
+            userService.editUserPasswordByUser(principal, request);
+
+            assertThat(storedUser.getPassword()).isEqualTo("encoded_new_password");
+            verify(userRepository).save(storedUser);
+        }
     }
 
     @Nested
@@ -604,9 +653,22 @@ class UserServiceTest {
         @Test
         void deleteUser() {
             Long userToDeleteId = 1L;
-            willDoNothing().given(userRepository).deleteById(userToDeleteId);
+            given(userRepository.findEmailsByIdIn(List.of(userToDeleteId))).willReturn(List.of("user@example.com"));
+            given(userRepository.deleteByIdIn(List.of(userToDeleteId))).willReturn(1);
             userService.delete(userToDeleteId);
-            verify(userRepository, times(1)).deleteById(userToDeleteId);
+            verify(userCache).removeUserFromCache("user@example.com");
+            verify(eventPublisher).publishEvent(new EntityChangedEvent(User.class));
+            verify(eventPublisher).publishEvent(new EntityChangedEvent(Task.class));
+            verify(userTaskAssignmentService, times(1)).removeAllForUsers(List.of(userToDeleteId));
+            verify(userRepository, times(1)).deleteByIdIn(List.of(userToDeleteId));
+        }
+
+        @Test
+        void deleteManyUsers() {
+            given(userRepository.deleteByIdIn(List.of(4L, 5L))).willReturn(2);
+            BulkDeleteResponse result = userService.deleteAll(List.of(4L, 5L));
+            assertThat(result.deleted()).isEqualTo(2);
+            verify(userTaskAssignmentService, times(1)).removeAllForUsers(List.of(4L, 5L));
         }
     }
 }
@@ -0,0 +1,125 @@
+package com.example.enigma.service;
+
+import com.example.enigma.repository.TaskRepository;
+import com.example.enigma.repository.UserRepository;
+import com.example.enigma.repository.UserTaskLink;
+import com.example.enigma.repository.UserTaskRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class UserTaskAssignmentServiceTest {
+    @Mock
+    UserTaskRepository userTaskRepository;
+    @Mock
+    UserRepository userRepository;
+    @Mock
+    TaskRepository taskRepository;
+
+    @Captor
+    ArgumentCaptor<Collection<Long>> idsCaptor;
+    @Captor
+    ArgumentCaptor<Collection<UserTaskLink>> linksCaptor;
+
+    @InjectMocks
+    UserTaskAssignmentService userTaskAssignmentService;
+
+    @Nested
+    @DisplayName("Tests for replaceUsersOfTask")
+    class ReplaceUsersOfTask {
+        @Test
+        void shouldInsertAndDeleteOnlyTheDelta() {
+            given(userTaskRepository.findUserIdsByTaskId(1L)).willReturn(List.of(1L, 2L, 3L));
+            given(userRepository.findExistingIds(anyCollection())).willReturn(List.of(4L));
+
+            userTaskAssignmentService.replaceUsersOfTask(1L, List.of(2L, 3L, 4L, 99L, 4L));
+
+            verify(userRepository).findExistingIds(idsCaptor.capture());
+            assertThat(idsCaptor.getValue()).containsExactlyInAnyOrder(4L, 99L);
+            verify(userTaskRepository).deleteAll(List.of(new UserTaskLink(1L, 1L)));
+            verify(userTaskRepository).insertAll(List.of(new UserTaskLink(4L, 1L)));
+        }
+
+        @Test
+        void shouldBumpVersionsOfAddedAndRemovedUsers() {
+            given(userTaskRepository.findUserIdsByTaskId(1L)).willReturn(List.of(1L, 2L));
+            given(userRepository.findExistingIds(anyCollection())).willReturn(List.of(3L));
+
+            userTaskAssignmentService.replaceUsersOfTask(1L, List.of(2L, 3L));
+
+            verify(userRepository).incrementVersionByIdIn(idsCaptor.capture());
+            assertThat(idsCaptor.getValue()).containsExactlyInAnyOrder(1L, 3L);
+        }
+
+        @Test
+        void shouldSkipExistenceCheckWhenNothingIsAdded() {
+            given(userTaskRepository.findUserIdsByTaskId(1L)).willReturn(List.of(1L, 2L));
+
+            userTaskAssignmentService.replaceUsersOfTask(1L, List.of());
+
+            verify(userRepository, never()).findExistingIds(anyCollection());
+            verify(userTaskRepository).deleteAll(linksCaptor.capture());
+            assertThat(linksCaptor.getValue()).containsExactlyInAnyOrder(new UserTaskLink(1L, 1L), new UserTaskLink(2L, 1L));
+            verify(userTaskRepository).insertAll(List.of());
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests for replaceTasksOfUser")
+    class ReplaceTasksOfUser {
+        @Test
+        void shouldInsertAndDeleteOnlyTheDelta() {
+            given(userTaskRepository.findTaskIdsByUserId(2L)).willReturn(List.of(1L, 2L));
+            given(taskRepository.findExistingIds(anyCollection())).willReturn(List.of(3L));
+
+            userTaskAssignmentService.replaceTasksOfUser(2L, List.of(2L, 3L));
+
+            verify(taskRepository).findExistingIds(idsCaptor.capture());
+            assertThat(idsCaptor.getValue()).containsExactly(3L);
+            verify(userTaskRepository).deleteAll(List.of(new UserTaskLink(2L, 1L)));
+            verify(userTaskRepository).insertAll(List.of(new UserTaskLink(2L, 3L)));
+            verify(taskRepository).incrementVersionByIdIn(idsCaptor.capture());
+            assertThat(idsCaptor.getValue()).containsExactlyInAnyOrder(1L, 3L);
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests for removeAllForTasks and removeAllForUsers")
+    class RemoveAll {
+        @Test
+        void removeAllForTasks_ShouldBumpVersionsOfLinkedUsersBeforeDeletingLinks() {
+            userTaskAssignmentService.removeAllForTasks(List.of(1L, 2L));
+
+            InOrder inOrder = inOrder(userRepository, userTaskRepository);
+            inOrder.verify(userRepository).incrementVersionByTaskIdIn(List.of(1L, 2L));
+            inOrder.verify(userTaskRepository).deleteByTaskIds(List.of(1L, 2L));
+        }
+
+        @Test
+        void removeAllForUsers_ShouldBumpVersionsOfLinkedTasksBeforeDeletingLinks() {
+            userTaskAssignmentService.removeAllForUsers(List.of(3L));
+
+            InOrder inOrder = inOrder(taskRepository, userTaskRepository);
+            inOrder.verify(taskRepository).incrementVersionByUserIdIn(List.of(3L));
+            inOrder.verify(userTaskRepository).deleteByUserIds(List.of(3L));
+        }
+    }
+}